@@ -1,6 +1,12 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.repository.UserRepository;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Gallery System.
@@ -13,12 +19,63 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final BlobStore blobStore = new BlobStore();
+
+    private final GalleryIndex galleryIndex = new GalleryIndex();
+
+    private final SearchIndex searchIndex = new SearchIndex();
+
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    private final GalleryView galleryView = new GalleryView();
+
+    private final NearCache nearCache = new NearCache();
+
+    /**
+     * The definitions of the caches, by cache name, overriding the {@code jhipster.cache.ehcache} defaults.
+     */
+    private final Map<String, CacheDefinition> caches = new LinkedHashMap<>();
+
+    private final CacheDisk cacheDisk = new CacheDisk();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+
+    public GalleryIndex getGalleryIndex() {
+        return galleryIndex;
+    }
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    public GalleryView getGalleryView() {
+        return galleryView;
+    }
+
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    public Map<String, CacheDefinition> getCaches() {
+        return caches;
+    }
+
+    public CacheDisk getCacheDisk() {
+        return cacheDisk;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +90,307 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class BlobStore {
+
+        /**
+         * The directory of the content-addressed store of the album images.
+         */
+        private String path = "data/blob-store";
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+
+    public static class GalleryIndex {
+
+        /**
+         * Whether the gallery is served from an in-memory index of the albums instead of the database.
+         */
+        private boolean enabled = false;
+
+        /**
+         * When the in-memory index is compared with the database, and repaired if they differ.
+         */
+        private String consistencyCheckCron = "0 0 * * * ?";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getConsistencyCheckCron() {
+            return consistencyCheckCron;
+        }
+
+        public void setConsistencyCheckCron(String consistencyCheckCron) {
+            this.consistencyCheckCron = consistencyCheckCron;
+        }
+    }
+
+    public static class SearchIndex {
+
+        /**
+         * The directory where the snapshot of the album search index is written, so it is not rebuilt on every start.
+         */
+        private String path = "data/search-index";
+
+        /**
+         * When the search index is written to its snapshot, if it changed since the last one.
+         */
+        private String snapshotCron = "0 */5 * * * ?";
+
+        /**
+         * When the search index is compared with the database, and repaired if they differ.
+         */
+        private String consistencyCheckCron = "0 30 * * * ?";
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getSnapshotCron() {
+            return snapshotCron;
+        }
+
+        public void setSnapshotCron(String snapshotCron) {
+            this.snapshotCron = snapshotCron;
+        }
+
+        public String getConsistencyCheckCron() {
+            return consistencyCheckCron;
+        }
+
+        public void setConsistencyCheckCron(String consistencyCheckCron) {
+            this.consistencyCheckCron = consistencyCheckCron;
+        }
+    }
+
+    public static class ChangeFeed {
+
+        /**
+         * How long a change may take to be committed once it is logged: the sync token of the change feed does not move
+         * past more recent changes, so a change committed late is still read.
+         */
+        private Duration settleTime = Duration.ofSeconds(30);
+
+        public Duration getSettleTime() {
+            return settleTime;
+        }
+
+        public void setSettleTime(Duration settleTime) {
+            this.settleTime = settleTime;
+        }
+    }
+
+    public static class GalleryView {
+
+        /**
+         * When the read model of the gallery is copied again from the albums, repairing the refreshes which were lost.
+         */
+        private String rebuildCron = "0 15 3 * * ?";
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+    }
+
+    public static class NearCache {
+
+        /**
+         * Whether the caches listed below get an in-process tier in front of their JCache cache.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The names of the caches getting a near tier: only their hottest keys are kept in it.
+         */
+        private List<String> caches = List.of(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE);
+
+        /**
+         * The maximum number of entries of the near tier of each cache.
+         */
+        private long maxEntries = 1000;
+
+        /**
+         * How long an entry stays in the near tier, which should be shorter than in the cache behind it.
+         */
+        private Duration timeToLive = Duration.ofSeconds(60);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getCaches() {
+            return caches;
+        }
+
+        public void setCaches(List<String> caches) {
+            this.caches = caches;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class CacheDefinition {
+
+        /**
+         * The maximum number of entries on heap, {@code jhipster.cache.ehcache.max-entries} unless a heap size is set.
+         */
+        private Long heapEntries;
+
+        /**
+         * The maximum size of the entries on heap, instead of a number of entries.
+         */
+        private DataSize heapSize;
+
+        /**
+         * The size of the off-heap tier, none by default. The key and value types must then be serializable.
+         */
+        private DataSize offHeapSize;
+
+        /**
+         * The size of the disk tier, none by default. It must be larger than the off-heap tier, if any, and needs the
+         * cache disk path to be set. The key and value types must then be serializable.
+         */
+        private DataSize diskSize;
+
+        /**
+         * How long an entry stays after it is written, {@code jhipster.cache.ehcache.time-to-live-seconds} unless a
+         * time to idle is set.
+         */
+        private Duration timeToLive;
+
+        /**
+         * How long an entry stays after it is last read or written, instead of a time to live.
+         */
+        private Duration timeToIdle;
+
+        /**
+         * The type of the keys of the cache.
+         */
+        private Class<?> keyType = Object.class;
+
+        /**
+         * The type of the values of the cache.
+         */
+        private Class<?> valueType = Object.class;
+
+        public Long getHeapEntries() {
+            return heapEntries;
+        }
+
+        public void setHeapEntries(Long heapEntries) {
+            this.heapEntries = heapEntries;
+        }
+
+        public DataSize getHeapSize() {
+            return heapSize;
+        }
+
+        public void setHeapSize(DataSize heapSize) {
+            this.heapSize = heapSize;
+        }
+
+        public DataSize getOffHeapSize() {
+            return offHeapSize;
+        }
+
+        public void setOffHeapSize(DataSize offHeapSize) {
+            this.offHeapSize = offHeapSize;
+        }
+
+        public DataSize getDiskSize() {
+            return diskSize;
+        }
+
+        public void setDiskSize(DataSize diskSize) {
+            this.diskSize = diskSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Duration getTimeToIdle() {
+            return timeToIdle;
+        }
+
+        public void setTimeToIdle(Duration timeToIdle) {
+            this.timeToIdle = timeToIdle;
+        }
+
+        public Class<?> getKeyType() {
+            return keyType;
+        }
+
+        public void setKeyType(Class<?> keyType) {
+            this.keyType = keyType;
+        }
+
+        public Class<?> getValueType() {
+            return valueType;
+        }
+
+        public void setValueType(Class<?> valueType) {
+            this.valueType = valueType;
+        }
+    }
+
+    public static class CacheDisk {
+
+        /**
+         * The directory of the disk tiers of the caches, unset when no cache has one. Local to each instance, its
+         * content is only kept while the application runs.
+         */
+        private String path;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
@@ -1,14 +1,27 @@
 package com.mycompany.myapp.config;
 
-import java.time.Duration;
-import org.ehcache.config.builders.*;
-import org.ehcache.jsr107.Eh107Configuration;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.cache.Caching;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
@@ -21,20 +34,31 @@ public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.CacheDefinition> cacheDefinitions;
+    private final String cacheDiskPath;
+    private final Map<String, CacheRegionConfiguration> cacheRegions = Collections.synchronizedMap(new LinkedHashMap<>());
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheDefinitions = applicationProperties.getCaches();
+        this.cacheDiskPath = applicationProperties.getCacheDisk().getPath();
+    }
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
+    /**
+     * Create the JCache cache manager with a directory for the disk tiers of the caches, which the one created by
+     * Spring Boot does not have.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.cache-disk", name = "path")
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(
+            provider.getDefaultURI(),
+            new DefaultConfiguration(provider.getDefaultClassLoader(), new DefaultPersistenceConfiguration(new File(cacheDiskPath)))
         );
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
     }
 
     @Bean
@@ -51,16 +75,69 @@ public class CacheConfiguration {
             createCache(cm, com.mycompany.myapp.domain.Authority.class.getName());
             createCache(cm, com.mycompany.myapp.domain.User.class.getName() + ".authorities");
             createCache(cm, com.mycompany.myapp.domain.Album.class.getName());
+            createCache(cm, com.mycompany.myapp.repository.AlbumRepository.ALBUMS_BY_OWNER_CACHE);
+            createCache(cm, com.mycompany.myapp.repository.AlbumGalleryViewRepository.GALLERY_SLICES_CACHE);
             // jhipster-needle-ehcache-add-entry
+            validateCacheDefinitions();
+        };
+    }
+
+    /**
+     * Expose the effective configuration of the caches on {@code /management/caches}.
+     */
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = CachesEndpoint.class)
+    public CacheRegionsEndpointWebExtension cacheRegionsEndpointWebExtension(CachesEndpoint cachesEndpoint) {
+        return new CacheRegionsEndpointWebExtension(cachesEndpoint, cacheRegions);
+    }
+
+    /**
+     * Put the near caches, if enabled, in front of the cache manager used by the application.
+     */
+    @Bean
+    public static BeanPostProcessor nearCacheManagerPostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof NearCacheManager)) {
+                    ApplicationProperties.NearCache nearCache = applicationProperties.getObject().getNearCache();
+                    if (nearCache.isEnabled()) {
+                        return new NearCacheManager(cacheManager, nearCache);
+                    }
+                }
+                return bean;
+            }
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        List<String> errors = new ArrayList<>();
+        CacheRegionConfiguration configuration = CacheRegionConfiguration.resolve(
+            cacheName,
+            cacheDefinitions.get(cacheName),
+            ehcache,
+            errors
+        );
+        if (configuration != null && configuration.diskBytes() != null && cacheDiskPath == null) {
+            errors.add(cacheName + ": disk-size requires application.cache-disk.path");
+            configuration = null;
+        }
+        if (configuration == null) {
+            throw new IllegalStateException("Invalid definition of cache in application.caches: " + String.join(", ", errors));
+        }
+        cacheRegions.put(cacheName, configuration);
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration.toJCacheConfiguration());
+        }
+    }
+
+    private void validateCacheDefinitions() {
+        List<String> unknownCaches = cacheDefinitions.keySet().stream().filter(name -> !cacheRegions.containsKey(name)).toList();
+        if (!unknownCaches.isEmpty()) {
+            throw new IllegalStateException("Definitions of unknown caches in application.caches: " + unknownCaches);
         }
     }
 
@@ -0,0 +1,161 @@
+package com.mycompany.myapp.config;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.springframework.lang.Nullable;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * The effective configuration of a cache: its {@link ApplicationProperties.CacheDefinition}, if any, over the
+ * {@code jhipster.cache.ehcache} defaults.
+ * <p>
+ * The heap is bounded either by a number of entries or by a size, and the entries expire either after they are written
+ * or after they are last accessed. The sizes are in bytes.
+ * <p>
+ * The off-heap and disk tiers hold the bulky entries outside of the heap scanned by the garbage collector. Their entries
+ * are copied with Java serialization, which the entries and keys of the second-level cache of Hibernate support. The
+ * disk tier is not persistent: the second-level cache must not outlive changes made while the application is down.
+ */
+public record CacheRegionConfiguration(
+    String name,
+    Class<?> keyType,
+    Class<?> valueType,
+    Long heapEntries,
+    Long heapBytes,
+    Long offHeapBytes,
+    Long diskBytes,
+    Duration timeToLive,
+    Duration timeToIdle
+) {
+    /**
+     * Resolve the effective configuration of a cache, and validate it.
+     *
+     * @param name the name of the cache.
+     * @param definition the definition of the cache, or {@code null} to use the defaults.
+     * @param defaults the {@code jhipster.cache.ehcache} defaults.
+     * @param errors the list the problems of the definition are added to.
+     * @return the effective configuration, or {@code null} if the definition is invalid.
+     */
+    @Nullable
+    public static CacheRegionConfiguration resolve(
+        String name,
+        @Nullable ApplicationProperties.CacheDefinition definition,
+        JHipsterProperties.Cache.Ehcache defaults,
+        List<String> errors
+    ) {
+        if (definition == null) {
+            return new CacheRegionConfiguration(
+                name,
+                Object.class,
+                Object.class,
+                defaults.getMaxEntries(),
+                null,
+                null,
+                null,
+                Duration.ofSeconds(defaults.getTimeToLiveSeconds()),
+                null
+            );
+        }
+        int errorCount = errors.size();
+        if (definition.getHeapEntries() != null && definition.getHeapSize() != null) {
+            errors.add(name + ": heap-entries and heap-size are exclusive");
+        }
+        if (definition.getHeapEntries() != null && definition.getHeapEntries() <= 0) {
+            errors.add(name + ": heap-entries must be positive");
+        }
+        if (definition.getHeapSize() != null && definition.getHeapSize().toBytes() <= 0) {
+            errors.add(name + ": heap-size must be positive");
+        }
+        if (definition.getOffHeapSize() != null && definition.getOffHeapSize().toBytes() <= 0) {
+            errors.add(name + ": off-heap-size must be positive");
+        }
+        if (definition.getDiskSize() != null && definition.getDiskSize().toBytes() <= 0) {
+            errors.add(name + ": disk-size must be positive");
+        }
+        if (definition.getTimeToLive() != null && definition.getTimeToIdle() != null) {
+            errors.add(name + ": time-to-live and time-to-idle are exclusive");
+        }
+        if (definition.getTimeToLive() != null && !isPositive(definition.getTimeToLive())) {
+            errors.add(name + ": time-to-live must be positive");
+        }
+        if (definition.getTimeToIdle() != null && !isPositive(definition.getTimeToIdle())) {
+            errors.add(name + ": time-to-idle must be positive");
+        }
+        boolean serializable = isSerializable(definition.getKeyType()) && isSerializable(definition.getValueType());
+        if (definition.getOffHeapSize() != null && !serializable) {
+            // Off-heap entries are stored serialized, and Ehcache only has a serializer for serializable types
+            errors.add(name + ": off-heap-size requires serializable key-type and value-type");
+        }
+        if (definition.getDiskSize() != null && !serializable) {
+            errors.add(name + ": disk-size requires serializable key-type and value-type");
+        }
+        if (errors.size() > errorCount) {
+            return null;
+        }
+        Long heapEntries = definition.getHeapSize() == null
+            ? (definition.getHeapEntries() != null ? definition.getHeapEntries() : defaults.getMaxEntries())
+            : null;
+        CacheRegionConfiguration configuration = new CacheRegionConfiguration(
+            name,
+            definition.getKeyType(),
+            definition.getValueType(),
+            heapEntries,
+            definition.getHeapSize() != null ? definition.getHeapSize().toBytes() : null,
+            definition.getOffHeapSize() != null ? definition.getOffHeapSize().toBytes() : null,
+            definition.getDiskSize() != null ? definition.getDiskSize().toBytes() : null,
+            definition.getTimeToIdle() == null
+                ? (definition.getTimeToLive() != null ? definition.getTimeToLive() : Duration.ofSeconds(defaults.getTimeToLiveSeconds()))
+                : null,
+            definition.getTimeToIdle()
+        );
+        try {
+            configuration.resourcePools();
+        } catch (IllegalArgumentException e) {
+            // Like an off-heap or disk tier not larger than the tier above it
+            errors.add(name + ": " + e.getMessage());
+            return null;
+        }
+        return configuration;
+    }
+
+    /**
+     * @return the JCache configuration of the cache, backed by Ehcache.
+     */
+    @SuppressWarnings("unchecked")
+    public javax.cache.configuration.Configuration<Object, Object> toJCacheConfiguration() {
+        ExpiryPolicy<Object, Object> expiry = timeToIdle != null
+            ? ExpiryPolicyBuilder.timeToIdleExpiration(timeToIdle)
+            : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder((Class<Object>) keyType, (Class<Object>) valueType, resourcePools())
+                .withExpiry(expiry)
+                .build()
+        );
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return !duration.isNegative() && !duration.isZero();
+    }
+
+    private static boolean isSerializable(Class<?> type) {
+        return Serializable.class.isAssignableFrom(type);
+    }
+
+    private ResourcePoolsBuilder resourcePools() {
+        ResourcePoolsBuilder pools = heapBytes != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(heapBytes, MemoryUnit.B)
+            : ResourcePoolsBuilder.newResourcePoolsBuilder().heap(heapEntries, EntryUnit.ENTRIES);
+        if (offHeapBytes != null) {
+            pools = pools.offheap(offHeapBytes, MemoryUnit.B);
+        }
+        return diskBytes != null ? pools.disk(diskBytes, MemoryUnit.B, false) : pools;
+    }
+}
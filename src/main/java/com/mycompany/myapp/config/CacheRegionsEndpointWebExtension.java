@@ -0,0 +1,56 @@
+package com.mycompany.myapp.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpointWebExtension;
+import org.springframework.boot.actuate.endpoint.OperationResponseBody;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExtension;
+
+/**
+ * Adds the effective configuration of each cache to the caches listed on {@code /management/caches}.
+ * <p>
+ * The response keeps the layout of the {@link CachesEndpoint} one, with a {@code configuration} next to the
+ * {@code target} of the caches created by {@link CacheConfiguration}. As an endpoint has a single web extension, this
+ * one replaces, and keeps the operations of, the {@link CachesEndpointWebExtension} of Spring Boot.
+ */
+@EndpointWebExtension(endpoint = CachesEndpoint.class)
+public class CacheRegionsEndpointWebExtension extends CachesEndpointWebExtension {
+
+    private final CachesEndpoint cachesEndpoint;
+
+    private final Map<String, CacheRegionConfiguration> cacheRegions;
+
+    public CacheRegionsEndpointWebExtension(CachesEndpoint cachesEndpoint, Map<String, CacheRegionConfiguration> cacheRegions) {
+        super(cachesEndpoint);
+        this.cachesEndpoint = cachesEndpoint;
+        this.cacheRegions = cacheRegions;
+    }
+
+    @ReadOperation
+    public CacheManagersDescriptor caches() {
+        Map<String, CacheManagerDescriptor> cacheManagers = new LinkedHashMap<>();
+        cachesEndpoint
+            .caches()
+            .getCacheManagers()
+            .forEach((cacheManagerName, cacheManager) -> {
+                Map<String, CacheDescriptor> caches = new LinkedHashMap<>();
+                cacheManager
+                    .getCaches()
+                    .forEach((cacheName, cache) -> caches.put(cacheName, describe(cacheName, cache)));
+                cacheManagers.put(cacheManagerName, new CacheManagerDescriptor(caches));
+            });
+        return new CacheManagersDescriptor(cacheManagers);
+    }
+
+    private CacheDescriptor describe(String cacheName, CachesEndpoint.CacheDescriptor cache) {
+        return new CacheDescriptor(cache.getTarget(), cacheRegions.get(cacheName));
+    }
+
+    public record CacheManagersDescriptor(Map<String, CacheManagerDescriptor> cacheManagers) implements OperationResponseBody {}
+
+    public record CacheManagerDescriptor(Map<String, CacheDescriptor> caches) {}
+
+    public record CacheDescriptor(String target, CacheRegionConfiguration configuration) {}
+}
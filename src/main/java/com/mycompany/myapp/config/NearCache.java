@@ -0,0 +1,137 @@
+package com.mycompany.myapp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link Cache} with an in-process Caffeine tier in front of another cache.
+ * <p>
+ * Hits on the near tier skip the JCache adapter of the cache behind it. The near tier admits keys with Caffeine's
+ * W-TinyLFU policy, so only the most frequently read ones stay in it, and expires them before the cache behind it.
+ * <p>
+ * Writes go to the cache behind, and only invalidate the near tier, which is populated on reads. A read which raced
+ * with an invalidation does not keep the value it read: each invalidation is counted once the cache behind is updated,
+ * and a read whose count changed removes what it put in the near tier.
+ */
+public class NearCache implements Cache {
+
+    private final Cache delegate;
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> near;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NearCache(Cache delegate, long maxEntries, Duration timeToLive) {
+        this.delegate = delegate;
+        this.near = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(timeToLive).recordStats().build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    /**
+     * @return the near tier.
+     */
+    public com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> getNearCache() {
+        return near;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = near.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long invalidationCount = invalidations.get();
+        value = delegate.get(key);
+        if (value != null) {
+            near.put(key, value);
+            if (invalidations.get() != invalidationCount) {
+                near.invalidate(key);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper value = get(key);
+        Object content = value != null ? value.get() : null;
+        if (content != null && type != null && !type.isInstance(content)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + content);
+        }
+        return (T) content;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        invalidate(key);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        invalidate(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        invalidate(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        invalidations.incrementAndGet();
+        near.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = delegate.invalidate();
+        invalidations.incrementAndGet();
+        near.invalidateAll();
+        return present;
+    }
+
+    private void invalidate(Object key) {
+        invalidations.incrementAndGet();
+        near.invalidate(key);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mycompany.myapp.config;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link CacheManager} putting a {@link NearCache} in front of some of the caches of another cache manager.
+ * <p>
+ * The evictions made through this manager, like those of {@code UserService.clearUserCaches}, invalidate both tiers.
+ */
+public class NearCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+
+    private final ApplicationProperties.NearCache properties;
+
+    private final Set<String> nearCacheNames;
+
+    private final ConcurrentMap<String, NearCache> nearCaches = new ConcurrentHashMap<>();
+
+    public NearCacheManager(CacheManager delegate, ApplicationProperties.NearCache properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.nearCacheNames = Set.copyOf(properties.getCaches());
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        if (!nearCacheNames.contains(name)) {
+            return delegate.getCache(name);
+        }
+        NearCache nearCache = nearCaches.get(name);
+        if (nearCache != null) {
+            return nearCache;
+        }
+        Cache cache = delegate.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return nearCaches.computeIfAbsent(name, key -> new NearCache(cache, properties.getMaxEntries(), properties.getTimeToLive()));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * @return the cache manager behind the near caches.
+     */
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
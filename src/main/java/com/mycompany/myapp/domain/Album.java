@@ -3,7 +3,10 @@ package com.mycompany.myapp.domain;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.HexFormat;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -40,16 +43,38 @@ public class Album implements Serializable {
     @Column(name = "override_date")
     private Instant overrideDate;
 
-    @Lob
-    @Column(name = "thumbnail")
+    /**
+     * The date the album is shown under, persisted so the gallery can be sorted by it using an index.
+     */
+    @Column(name = "effective_date", nullable = false)
+    private Instant effectiveDate;
+
+    /**
+     * The thumbnail bytes are not stored with the album but in the content-addressed blob store, under
+     * {@link #thumbnailHash}: this field only carries a new thumbnail to be stored.
+     */
+    @Transient
     private byte[] thumbnail;
 
     @Column(name = "thumbnail_content_type")
     private String thumbnailContentType;
 
+    @Column(name = "thumbnail_size")
+    private Long thumbnailSize;
+
+    @Column(name = "thumbnail_hash", length = 64)
+    private String thumbnailHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
+    /**
+     * Incremented by each update, which only applies to the version it was made from.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -117,6 +142,19 @@ public class Album implements Serializable {
         this.overrideDate = overrideDate;
     }
 
+    /**
+     * The override date if present, the creation date otherwise, maintained when the album is persisted or updated.
+     */
+    public Instant getEffectiveDate() {
+        return this.effectiveDate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateEffectiveDate() {
+        this.effectiveDate = this.overrideDate != null ? this.overrideDate : this.creationDate;
+    }
+
     public byte[] getThumbnail() {
         return this.thumbnail;
     }
@@ -128,6 +166,8 @@ public class Album implements Serializable {
 
     public void setThumbnail(byte[] thumbnail) {
         this.thumbnail = thumbnail;
+        this.thumbnailSize = thumbnail != null ? (long) thumbnail.length : null;
+        this.thumbnailHash = thumbnail != null ? sha256Hex(thumbnail) : null;
     }
 
     public String getThumbnailContentType() {
@@ -143,6 +183,20 @@ public class Album implements Serializable {
         this.thumbnailContentType = thumbnailContentType;
     }
 
+    /**
+     * The size in bytes of the thumbnail, maintained by {@link #setThumbnail(byte[])}.
+     */
+    public Long getThumbnailSize() {
+        return this.thumbnailSize;
+    }
+
+    /**
+     * The hex-encoded SHA-256 digest of the thumbnail, maintained by {@link #setThumbnail(byte[])}.
+     */
+    public String getThumbnailHash() {
+        return this.thumbnailHash;
+    }
+
     public User getUser() {
         return this.user;
     }
@@ -156,8 +210,24 @@ public class Album implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -184,8 +254,12 @@ public class Album implements Serializable {
             ", event='" + getEvent() + "'" +
             ", creationDate='" + getCreationDate() + "'" +
             ", overrideDate='" + getOverrideDate() + "'" +
+            ", effectiveDate='" + getEffectiveDate() + "'" +
             ", thumbnail='" + getThumbnail() + "'" +
             ", thumbnailContentType='" + getThumbnailContentType() + "'" +
+            ", thumbnailSize=" + getThumbnailSize() +
+            ", thumbnailHash='" + getThumbnailHash() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,62 @@
+package com.mycompany.myapp.management;
+
+import com.mycompany.myapp.config.NearCache;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bind the caches backed by Ehcache to Micrometer with {@link EhcacheCacheMetrics}, including the second-level cache
+ * regions of Hibernate, without {@code hibernate.generate_statistics}.
+ * <p>
+ * It comes before the {@code JCacheCacheMeterBinderProvider} of Spring Boot, whose metrics are only available once the
+ * JCache statistics are enabled, and falls back to it if the statistics of Ehcache cannot be read. The meters of a
+ * cache are tagged {@code tier=ehcache}; those of the {@link NearCache} in front of it, if any, are bound by
+ * {@link CaffeineCacheMetrics} and tagged {@code tier=near}, so the gets served by each tier can be told apart.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EhcacheCacheMeterBinderProvider implements CacheMeterBinderProvider<Cache> {
+
+    public static final String EHCACHE_TIER = "ehcache";
+
+    public static final String NEAR_TIER = "near";
+
+    @Override
+    public MeterBinder getMeterBinder(Cache cache, Iterable<Tag> tags) {
+        if (!(cache.getNativeCache() instanceof javax.cache.Cache<?, ?> jCache)) {
+            return null;
+        }
+        org.ehcache.Cache<?, ?> ehcache;
+        try {
+            ehcache = jCache.unwrap(org.ehcache.Cache.class);
+        } catch (IllegalArgumentException e) {
+            // Not an Ehcache cache
+            return null;
+        }
+        EhcacheCacheMetrics metrics = EhcacheCacheMetrics.of(
+            ehcache,
+            cache.getName(),
+            Tags.of(tags).and(EhcacheCacheMetrics.TIER_DIMENSION, EHCACHE_TIER)
+        );
+        if (metrics == null || !(cache instanceof NearCache nearCache)) {
+            return metrics;
+        }
+        CaffeineCacheMetrics<Object, ValueWrapper, ?> nearMetrics = new CaffeineCacheMetrics<>(
+            nearCache.getNearCache(),
+            cache.getName(),
+            Tags.of(tags).and(EhcacheCacheMetrics.TIER_DIMENSION, NEAR_TIER)
+        );
+        return registry -> {
+            metrics.bindTo(registry);
+            nearMetrics.bindTo(registry);
+        };
+    }
+}
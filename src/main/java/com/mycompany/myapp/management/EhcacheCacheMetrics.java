@@ -0,0 +1,153 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.ehcache.Cache;
+import org.ehcache.core.InternalCache;
+import org.ehcache.core.internal.statistics.DefaultCacheStatistics;
+import org.ehcache.core.statistics.CacheOperationOutcomes.GetOutcome;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.ChainedOperationObserver;
+import org.ehcache.core.statistics.TierStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metrics of an Ehcache 3 cache, read from the statistics Ehcache always keeps for its caches.
+ * <p>
+ * Unlike the JCache statistics, these need neither {@code CacheManager.enableStatistics} nor JMX, and give the number
+ * of entries and bytes of each tier of the cache, along with the latency of its gets, which include reading and
+ * deserializing the entries from the off-heap and disk tiers.
+ */
+public class EhcacheCacheMetrics extends CacheMeterBinder<Cache<?, ?>> {
+
+    public static final String GETS_LATENCY_METER_NAME = "cache.gets.latency";
+
+    public static final String TIER_ENTRIES_METER_NAME = "cache.tier.entries";
+
+    public static final String TIER_BYTES_METER_NAME = "cache.tier.bytes";
+
+    public static final String TIER_DIMENSION = "tier";
+
+    private static final Logger LOG = LoggerFactory.getLogger(EhcacheCacheMetrics.class);
+
+    private final CacheStatistics statistics;
+
+    private EhcacheCacheMetrics(Cache<?, ?> cache, CacheStatistics statistics, String cacheName, Iterable<Tag> tags) {
+        super(cache, cacheName, tags);
+        this.statistics = statistics;
+    }
+
+    /**
+     * @param cache the cache.
+     * @param cacheName the name of the cache.
+     * @param tags the tags of the meters.
+     * @return the metrics of the cache, or {@code null} if the statistics of the cache cannot be read.
+     */
+    public static EhcacheCacheMetrics of(Cache<?, ?> cache, String cacheName, Iterable<Tag> tags) {
+        CacheStatistics statistics = statistics(cache);
+        return statistics != null ? new EhcacheCacheMetrics(cache, statistics, cacheName, tags) : null;
+    }
+
+    private static CacheStatistics statistics(Cache<?, ?> cache) {
+        // The statistics service of the JSR-107 cache manager is not exposed, so the statistics of the cache are read the
+        // way that service reads them, from internals of Ehcache which may change in a later version
+        try {
+            if (cache instanceof InternalCache<?, ?> internalCache) {
+                return new DefaultCacheStatistics(internalCache);
+            }
+        } catch (RuntimeException | LinkageError e) {
+            LOG.warn("Could not read the statistics of the Ehcache cache {}: {}", cache, e.toString());
+            return null;
+        }
+        LOG.warn("Could not read the statistics of the Ehcache cache {}: not an internal cache", cache);
+        return null;
+    }
+
+    @Override
+    protected Long size() {
+        // The lowest tier holds all the entries, the ones above only copies of some of them
+        return statistics.getTierStatistics().values().stream().mapToLong(TierStatistics::getMappings).max().orElse(0L);
+    }
+
+    @Override
+    protected long hitCount() {
+        return statistics.getCacheHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return statistics.getCacheMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return statistics.getCacheEvictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return statistics.getCachePuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.removals", statistics, CacheStatistics::getCacheRemovals)
+            .tags(getTagsWithCacheName())
+            .description("The number of entries removed from the cache.")
+            .register(registry);
+        FunctionCounter.builder("cache.expirations", statistics, CacheStatistics::getCacheExpirations)
+            .tags(getTagsWithCacheName())
+            .description("The number of entries expired from the cache.")
+            .register(registry);
+
+        statistics
+            .getTierStatistics()
+            .forEach((tier, tierStatistics) -> {
+                Tags tierTags = Tags.of(getTagsWithCacheName()).and(TIER_DIMENSION, tier.toLowerCase(Locale.ROOT));
+                Gauge.builder(TIER_ENTRIES_METER_NAME, tierStatistics, TierStatistics::getMappings)
+                    .tags(tierTags)
+                    .description("The number of entries in the tier of the cache.")
+                    .register(registry);
+                Gauge.builder(TIER_BYTES_METER_NAME, tierStatistics, TierStatistics::getOccupiedByteSize)
+                    .tags(tierTags)
+                    .baseUnit("bytes")
+                    .description("The size of the entries in the tier of the cache, if the tier is sized in bytes.")
+                    .register(registry);
+            });
+
+        Map<GetOutcome, Timer> getLatencies = new EnumMap<>(GetOutcome.class);
+        for (GetOutcome outcome : GetOutcome.values()) {
+            getLatencies.put(
+                outcome,
+                Timer.builder(GETS_LATENCY_METER_NAME)
+                    .tags(getTagsWithCacheName())
+                    .tag("result", outcome.name().toLowerCase(Locale.ROOT))
+                    .description("The time taken by the cache lookups, including reading the entries from the lower tiers.")
+                    .register(registry)
+            );
+        }
+        statistics.registerDerivedStatistic(GetOutcome.class, "get", new GetLatencyObserver(getLatencies));
+    }
+
+    private record GetLatencyObserver(Map<GetOutcome, Timer> latencies) implements ChainedOperationObserver<GetOutcome> {
+        @Override
+        public void begin(long time) {
+            // Only the latency given at the end of the operation is recorded
+        }
+
+        @Override
+        public void end(long time, long latency, GetOutcome result) {
+            latencies.get(result).record(latency, TimeUnit.NANOSECONDS);
+        }
+    }
+}
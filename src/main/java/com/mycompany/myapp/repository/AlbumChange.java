@@ -0,0 +1,13 @@
+package com.mycompany.myapp.repository;
+
+import java.time.Instant;
+
+/**
+ * An entry of the log of the changes of the albums.
+ *
+ * @param id the position of the change in the log.
+ * @param albumId the id of the changed album.
+ * @param deleted whether the album was deleted, rather than created or updated.
+ * @param changedAt when the change was logged.
+ */
+public record AlbumChange(long id, long albumId, boolean deleted, Instant changedAt) {}
@@ -0,0 +1,74 @@
+package com.mycompany.myapp.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to the append-only log of the changes of the {@link com.mycompany.myapp.domain.Album} entity.
+ */
+@Repository
+public class AlbumChangeRepository {
+
+    private static final String INSERT_CHANGE = "insert into album_change (album_id, deleted, changed_at) values (?, ?, ?)";
+
+    private static final String SELECT_CHANGES_AFTER =
+        "select id, album_id, deleted, changed_at from album_change where id > ? order by id fetch first ? rows only";
+
+    private static final String SELECT_LAST_ID_BEFORE = "select max(id) from album_change where changed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlbumChangeRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Append changes to the log, with one batch of statements.
+     *
+     * @param changes whether each album was deleted, by album id, in the order of the changes.
+     * @param changedAt when the changes are logged.
+     */
+    public void append(Map<Long, Boolean> changes, Instant changedAt) {
+        Timestamp timestamp = Timestamp.from(changedAt);
+        List<Object[]> rows = changes
+            .entrySet()
+            .stream()
+            .map(change -> new Object[] { change.getKey(), change.getValue(), timestamp })
+            .toList();
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, rows);
+    }
+
+    /**
+     * @param id the position in the log to read from, exclusive.
+     * @param limit the maximum number of changes.
+     * @return the changes following the position, in the order of the log.
+     */
+    public List<AlbumChange> findAfter(long id, int limit) {
+        return jdbcTemplate.query(
+            SELECT_CHANGES_AFTER,
+            (resultSet, rowNum) ->
+                new AlbumChange(
+                    resultSet.getLong(1),
+                    resultSet.getLong(2),
+                    resultSet.getBoolean(3),
+                    resultSet.getTimestamp(4).toInstant()
+                ),
+            id,
+            limit
+        );
+    }
+
+    /**
+     * @param changedAt the time to look before.
+     * @return the position of the last change logged before the time, or empty if there is none.
+     */
+    public Optional<Long> findLastIdBefore(Instant changedAt) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_LAST_ID_BEFORE, Long.class, Timestamp.from(changedAt)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.mycompany.myapp.repository;
+
+import java.time.Instant;
+
+/**
+ * The state the version of the album listings is derived from, shared by all the instances of the application.
+ *
+ * @param createdAt when the database was created, which identifies it.
+ * @param lastChangeId the position of the last change in the log of the changes of the albums, or 0 if there is none.
+ * @param lastChangedAt when the last change was logged, or {@code null} if there is none.
+ * @param viewVersion the number of refreshes of the read models of the albums.
+ * @param viewRefreshedAt when the read models of the albums were last refreshed.
+ */
+public record AlbumCollectionRevision(
+    Instant createdAt,
+    long lastChangeId,
+    Instant lastChangedAt,
+    long viewVersion,
+    Instant viewRefreshedAt
+) {}
@@ -0,0 +1,57 @@
+package com.mycompany.myapp.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC access to the {@link AlbumCollectionRevision}, read from the last entry of {@code album_change} and from the
+ * single row of {@code album_collection_version}.
+ */
+@Repository
+public class AlbumCollectionRevisionRepository {
+
+    private static final String SELECT_REVISION =
+        "select v.created_at, c.id, c.changed_at, v.view_version, v.view_refreshed_at " +
+        "from album_collection_version v " +
+        "left join album_change c on c.id = (select max(id) from album_change) " +
+        "where v.id = 1";
+
+    private static final String BUMP_VIEW_VERSION =
+        "update album_collection_version set view_version = view_version + 1, view_refreshed_at = ? where id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlbumCollectionRevisionRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * @return the current revision, read with a single query on primary keys.
+     */
+    public AlbumCollectionRevision find() {
+        return jdbcTemplate.queryForObject(SELECT_REVISION, (resultSet, rowNum) -> {
+            Timestamp lastChangedAt = resultSet.getTimestamp(3);
+            return new AlbumCollectionRevision(
+                resultSet.getTimestamp(1).toInstant(),
+                resultSet.getLong(2),
+                lastChangedAt != null ? lastChangedAt.toInstant() : null,
+                resultSet.getLong(4),
+                resultSet.getTimestamp(5).toInstant()
+            );
+        });
+    }
+
+    /**
+     * Count a refresh of the read models of the albums.
+     *
+     * @param refreshedAt when the read models were refreshed.
+     */
+    @Transactional
+    public void bumpViewVersion(Instant refreshedAt) {
+        jdbcTemplate.update(BUMP_VIEW_VERSION, Timestamp.from(refreshedAt));
+    }
+}
@@ -0,0 +1,221 @@
+package com.mycompany.myapp.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC access to {@code album_gallery_view}, the flat read model of the gallery.
+ * <p>
+ * A row is only ever copied from the album table by a single statement, so it holds the album as committed when it
+ * was refreshed, whatever the order the refreshes run in. The dates are stored in UTC, like Hibernate stores them.
+ * <p>
+ * The login of the owner is joined at read time rather than copied, as it changes without a change to the album.
+ */
+@Repository
+public class AlbumGalleryViewRepository {
+
+    public static final String GALLERY_SLICES_CACHE = "gallerySlices";
+
+    private static final String COLUMNS =
+        "album_id, name, event, creation_date, override_date, effective_date, " +
+        "thumbnail_content_type, thumbnail_size, thumbnail_hash, user_id";
+
+    private static final String INSERT_FROM_ALBUMS =
+        "insert into album_gallery_view (" +
+        COLUMNS +
+        ") " +
+        "select a.id, a.name, a.event, a.creation_date, a.override_date, a.effective_date, " +
+        "a.thumbnail_content_type, a.thumbnail_size, a.thumbnail_hash, a.user_id " +
+        "from album a";
+
+    private static final String DELETE_ALBUM = "delete from album_gallery_view where album_id = ?";
+
+    private static final String DELETE_ALL = "delete from album_gallery_view";
+
+    private static final String SUMMARY_COLUMNS =
+        "v.album_id, v.name, v.event, v.creation_date, v.override_date, " +
+        "v.thumbnail_content_type, v.thumbnail_size, v.thumbnail_hash, v.user_id, u.login";
+
+    private static final String JOIN_OWNER = " left join jhi_user u on u.id = v.user_id ";
+
+    private static final String SELECT = "select " + SUMMARY_COLUMNS + " from album_gallery_view v" + JOIN_OWNER;
+
+    private static final String BY_EVENT = " order by event asc, name asc, album_id asc fetch first ? rows only";
+
+    private static final String BY_DATE = " order by effective_date desc, album_id desc fetch first ? rows only";
+
+    private static final String SELECT_GROUPS = "select event, count(album_id) from album_gallery_view ";
+
+    private static final String GROUPS_BY_EVENT = " group by event order by event asc nulls last fetch first ? rows only";
+
+    private static final RowMapper<AlbumSummary> SUMMARY_MAPPER = AlbumGalleryViewRepository::toSummary;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlbumGalleryViewRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Copy an album from the album table again, or remove it if it was deleted.
+     * <p>
+     * The refresh runs in its own transaction, as it follows the commit of the change of the album.
+     *
+     * @param albumId the id of the album.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refresh(Long albumId) {
+        jdbcTemplate.update(DELETE_ALBUM, albumId);
+        jdbcTemplate.update(INSERT_FROM_ALBUMS + " where a.id = ?", albumId);
+    }
+
+    /**
+     * Copy albums from the album table again, or remove the ones which were deleted, with one statement of each kind.
+     * <p>
+     * Like {@link #refresh(Long)}, the refresh runs in its own transaction.
+     *
+     * @param albumIds the ids of the albums.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refreshAll(Collection<Long> albumIds) {
+        if (albumIds.isEmpty()) {
+            return;
+        }
+        Object[] ids = albumIds.toArray();
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+        jdbcTemplate.update("delete from album_gallery_view where album_id in (" + placeholders + ")", ids);
+        jdbcTemplate.update(INSERT_FROM_ALBUMS + " where a.id in (" + placeholders + ")", ids);
+    }
+
+    /**
+     * Copy all the albums from the album table again, in one transaction.
+     *
+     * @return the number of albums in the view.
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update(DELETE_ALL);
+        return jdbcTemplate.update(INSERT_FROM_ALBUMS);
+    }
+
+    public Optional<AlbumSummary> findById(Long albumId) {
+        return jdbcTemplate.query(SELECT + "where album_id = ?", SUMMARY_MAPPER, albumId).stream().findFirst();
+    }
+
+    public List<AlbumSummary> findByDate(int limit) {
+        return jdbcTemplate.query(SELECT + BY_DATE, SUMMARY_MAPPER, limit);
+    }
+
+    public List<AlbumSummary> findByDateBefore(Instant effectiveDate, Long id, int limit) {
+        return jdbcTemplate.query(
+            SELECT + "where (effective_date, album_id) < (?, ?)" + BY_DATE,
+            SUMMARY_MAPPER,
+            LocalDateTime.ofInstant(effectiveDate, ZoneOffset.UTC),
+            id,
+            limit
+        );
+    }
+
+    public List<AlbumSummary> findByEvent(int limit) {
+        return jdbcTemplate.query(SELECT + "where event is not null" + BY_EVENT, SUMMARY_MAPPER, limit);
+    }
+
+    public List<AlbumSummary> findByEventAfter(String event, String name, Long id, int limit) {
+        return jdbcTemplate.query(SELECT + "where (event, name, album_id) > (?, ?, ?)" + BY_EVENT, SUMMARY_MAPPER, event, name, id, limit);
+    }
+
+    public List<AlbumSummary> findInEventAfter(String event, String name, Long id, int limit) {
+        return jdbcTemplate.query(
+            SELECT + "where event = ? and (name, album_id) > (?, ?)" + BY_EVENT,
+            SUMMARY_MAPPER,
+            event,
+            name,
+            id,
+            limit
+        );
+    }
+
+    public List<AlbumSummary> findWithoutEvent(int limit) {
+        return jdbcTemplate.query(SELECT + "where event is null" + BY_EVENT, SUMMARY_MAPPER, limit);
+    }
+
+    public List<AlbumSummary> findWithoutEventAfter(String name, Long id, int limit) {
+        return jdbcTemplate.query(SELECT + "where event is null and (name, album_id) > (?, ?)" + BY_EVENT, SUMMARY_MAPPER, name, id, limit);
+    }
+
+    public List<GalleryGroup> findGroups(int limit) {
+        return jdbcTemplate.query(SELECT_GROUPS + GROUPS_BY_EVENT, AlbumGalleryViewRepository::toGroup, limit);
+    }
+
+    public List<GalleryGroup> findGroupsAfter(String event, int limit) {
+        return jdbcTemplate.query(
+            SELECT_GROUPS + "where event > ? or event is null" + GROUPS_BY_EVENT,
+            AlbumGalleryViewRepository::toGroup,
+            event,
+            limit
+        );
+    }
+
+    /**
+     * Get the first albums of several events, in a single pass over the albums of these events ranked by name.
+     *
+     * @param events the events of the albums.
+     * @param size the maximum number of albums per event.
+     * @return the albums, ordered by event, name and id.
+     */
+    public List<AlbumSummary> findFirstAlbumsByEvent(Collection<String> events, int size) {
+        String placeholders = String.join(", ", Collections.nCopies(events.size(), "?"));
+        List<Object> arguments = new ArrayList<>(events);
+        arguments.add(size);
+        return jdbcTemplate.query(
+            "select " +
+            SUMMARY_COLUMNS +
+            " from (select r.*, row_number() over (partition by r.event order by r.name asc, r.album_id asc) as position " +
+            "from album_gallery_view r where r.event in (" +
+            placeholders +
+            ")) v" +
+            JOIN_OWNER +
+            "where v.position <= ? order by v.event asc, v.name asc, v.album_id asc",
+            SUMMARY_MAPPER,
+            arguments.toArray()
+        );
+    }
+
+    private static AlbumSummary toSummary(ResultSet resultSet, int rowNum) throws SQLException {
+        return new AlbumSummary(
+            resultSet.getLong(1),
+            resultSet.getString(2),
+            resultSet.getString(3),
+            instant(resultSet, 4),
+            instant(resultSet, 5),
+            resultSet.getString(6),
+            resultSet.getObject(7, Long.class),
+            resultSet.getString(8),
+            resultSet.getObject(9, Long.class),
+            resultSet.getString(10)
+        );
+    }
+
+    private static GalleryGroup toGroup(ResultSet resultSet, int rowNum) throws SQLException {
+        return new GalleryGroup(resultSet.getString(1), resultSet.getLong(2));
+    }
+
+    private static Instant instant(ResultSet resultSet, int column) throws SQLException {
+        LocalDateTime dateTime = resultSet.getObject(column, LocalDateTime.class);
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * A downscaled rendition of an album thumbnail.
+ *
+ * @param size the length, in pixels, of the longest edge of the rendition.
+ * @param contentType the media type of the rendition.
+ * @param byteSize the length, in bytes, of the encoded rendition.
+ * @param hash the hex-encoded SHA-256 digest of the encoded rendition.
+ */
+public record AlbumRendition(int size, String contentType, long byteSize, String hash) {}
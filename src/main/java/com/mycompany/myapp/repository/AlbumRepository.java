@@ -1,8 +1,13 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Album;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -14,6 +19,15 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface AlbumRepository extends JpaRepository<Album, Long> {
+    String SELECT_SUMMARY =
+        "select new com.mycompany.myapp.repository.AlbumSummary(album.id, album.name, album.event, album.creationDate, " +
+        "album.overrideDate, album.thumbnailContentType, album.thumbnailSize, album.thumbnailHash, owner.id, owner.login) " +
+        "from Album album left join album.user owner ";
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    String ALBUMS_BY_OWNER_CACHE = "albumsByOwner";
+
     @Query("select album from Album album where album.user.login = ?#{authentication.name}")
     List<Album> findByUserIsCurrentUser();
 
@@ -37,4 +51,65 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
 
     @Query("select album from Album album left join fetch album.user where album.id =:id")
     Optional<Album> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query("select album from Album album left join fetch album.user where album.id in :ids")
+    List<Album> findAllWithToOneRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        value = "select new com.mycompany.myapp.repository.AlbumSummary(album.id, album.name, album.event, album.creationDate, " +
+        "album.overrideDate, album.thumbnailContentType, album.thumbnailSize, album.thumbnailHash, album.user.id) from Album album",
+        countQuery = "select count(album) from Album album"
+    )
+    Page<AlbumSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = SELECT_SUMMARY, countQuery = "select count(album) from Album album")
+    Page<AlbumSummary> findAllSummariesWithToOneRelationships(Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where album.id = :id")
+    Optional<AlbumSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(SELECT_SUMMARY + "where album.id in :ids")
+    List<AlbumSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select album.user.id from Album album where album.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Query(SELECT_SUMMARY + "where album.user.id = :userId order by album.effectiveDate desc, album.id desc")
+    List<AlbumSummary> findOwnedByDate(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(
+        SELECT_SUMMARY +
+        "where album.user.id = :userId and (album.effectiveDate, album.id) < (:effectiveDate, :id) " +
+        "order by album.effectiveDate desc, album.id desc"
+    )
+    List<AlbumSummary> findOwnedByDateBefore(
+        @Param("userId") Long userId,
+        @Param("effectiveDate") Instant effectiveDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("select max(album.id) from Album album")
+    Optional<Long> findMaxId();
+
+    @Query(SELECT_SUMMARY + "order by album.effectiveDate desc, album.id desc")
+    List<AlbumSummary> findGalleryByDate(Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where (album.effectiveDate, album.id) < (:effectiveDate, :id) order by album.effectiveDate desc, album.id desc")
+    List<AlbumSummary> findGalleryByDateBefore(@Param("effectiveDate") Instant effectiveDate, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Stream the summaries of all the albums, fetched from a forward-only cursor {@link #EXPORT_FETCH_SIZE} rows at a time.
+     * The stream must be consumed, and closed, within a transaction.
+     *
+     * @return the summaries, ordered by id.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    @Query(SELECT_SUMMARY + "order by album.id asc")
+    Stream<AlbumSummary> streamAllSummaries();
 }
@@ -0,0 +1,47 @@
+package com.mycompany.myapp.repository;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A blob-free projection of the {@link com.mycompany.myapp.domain.Album} entity, used by the list queries.
+ * <p>
+ * Only the thumbnail metadata is selected, so listing albums never reads the thumbnail column.
+ */
+public record AlbumSummary(
+    Long id,
+    String name,
+    String event,
+    Instant creationDate,
+    Instant overrideDate,
+    String thumbnailContentType,
+    Long thumbnailSize,
+    String thumbnailHash,
+    Long userId,
+    String userLogin
+)
+    implements Serializable {
+    /**
+     * Projection without the owner login, for the queries which do not join the user.
+     */
+    public AlbumSummary(
+        Long id,
+        String name,
+        String event,
+        Instant creationDate,
+        Instant overrideDate,
+        String thumbnailContentType,
+        Long thumbnailSize,
+        String thumbnailHash,
+        Long userId
+    ) {
+        this(id, name, event, creationDate, overrideDate, thumbnailContentType, thumbnailSize, thumbnailHash, userId, null);
+    }
+
+    /**
+     * @return the date the album is shown under: the override date if present, the creation date otherwise.
+     */
+    public Instant effectiveDate() {
+        return overrideDate != null ? overrideDate : creationDate;
+    }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.myapp.repository;
+
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC access to the renditions of the thumbnail of the {@link com.mycompany.myapp.domain.Album} entity, and to the
+ * legacy thumbnail column.
+ * <p>
+ * The images themselves are kept in the {@link BlobStore}: only their hash is stored in the database.
+ */
+@Repository
+public class AlbumThumbnailRepository {
+
+    // Renditions derived from a previous thumbnail are ignored until they are replaced
+    private static final String SELECT_RENDITION =
+        "select r.rendition_size, r.content_type, r.byte_size, r.hash from album_rendition r " +
+        "join album a on a.id = r.album_id and a.thumbnail_hash = r.source_hash " +
+        "where r.album_id = ? and r.rendition_size >= ? order by r.rendition_size";
+
+    private static final String COUNT_RENDITIONS = "select count(*) from album_rendition where album_id = ? and source_hash = ?";
+
+    private static final String DELETE_RENDITIONS = "delete from album_rendition where album_id = ?";
+
+    private static final String INSERT_RENDITION =
+        "insert into album_rendition (album_id, rendition_size, source_hash, content_type, byte_size, hash) values (?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_LEGACY_THUMBNAIL_IDS = "select id from album where thumbnail is not null order by id";
+
+    private static final String SELECT_LEGACY_THUMBNAIL = "select thumbnail from album where id = ?";
+
+    private static final String UPDATE_MIGRATED_THUMBNAIL =
+        "update album set thumbnail = null, thumbnail_hash = ?, thumbnail_size = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlbumThumbnailRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Find the smallest up-to-date rendition of the thumbnail of an album which is at least as large as requested.
+     *
+     * @param albumId the id of the album.
+     * @param minSize the minimum size of the rendition.
+     * @return the rendition, or empty if there is none, in which case the thumbnail itself should be used.
+     */
+    public Optional<AlbumRendition> findRendition(Long albumId, int minSize) {
+        List<AlbumRendition> renditions = jdbcTemplate.query(
+            SELECT_RENDITION,
+            (resultSet, rowNum) -> new AlbumRendition(resultSet.getInt(1), resultSet.getString(2), resultSet.getLong(3), resultSet.getString(4)),
+            albumId,
+            minSize
+        );
+        return renditions.stream().findFirst();
+    }
+
+    /**
+     * @param albumId the id of the album.
+     * @param sourceHash the hash of the thumbnail.
+     * @return whether renditions were already derived from this thumbnail.
+     */
+    public boolean hasRenditions(Long albumId, String sourceHash) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_RENDITIONS, Integer.class, albumId, sourceHash);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Replace all the renditions of the thumbnail of an album.
+     *
+     * @param albumId the id of the album.
+     * @param sourceHash the hash of the thumbnail the renditions were derived from.
+     * @param renditions the renditions, possibly empty to only remove the previous ones.
+     */
+    @Transactional
+    public void replaceRenditions(Long albumId, String sourceHash, List<AlbumRendition> renditions) {
+        jdbcTemplate.update(DELETE_RENDITIONS, albumId);
+        for (AlbumRendition rendition : renditions) {
+            jdbcTemplate.update(
+                INSERT_RENDITION,
+                albumId,
+                rendition.size(),
+                sourceHash,
+                rendition.contentType(),
+                rendition.byteSize(),
+                rendition.hash()
+            );
+        }
+    }
+
+    /**
+     * @return the ids of the albums whose thumbnail is still stored in the legacy {@code thumbnail} column.
+     */
+    public List<Long> findIdsWithLegacyThumbnail() {
+        return jdbcTemplate.queryForList(SELECT_LEGACY_THUMBNAIL_IDS, Long.class);
+    }
+
+    /**
+     * @param albumId the id of the album.
+     * @return the thumbnail stored in the legacy {@code thumbnail} column, or empty if there is none.
+     */
+    public Optional<byte[]> findLegacyThumbnail(Long albumId) {
+        return jdbcTemplate.query(SELECT_LEGACY_THUMBNAIL, (resultSet, rowNum) -> resultSet.getBytes(1), albumId).stream().findFirst();
+    }
+
+    /**
+     * Clear the legacy {@code thumbnail} column of an album once its thumbnail has been moved to the {@link BlobStore}.
+     *
+     * @param albumId the id of the album.
+     * @param hash the hash of the thumbnail.
+     * @param size the size of the thumbnail.
+     */
+    public void markThumbnailMigrated(Long albumId, String hash, long size) {
+        jdbcTemplate.update(UPDATE_MIGRATED_THUMBNAIL, hash, size, albumId);
+    }
+}
@@ -0,0 +1,224 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Content-addressed store of the album images on the local filesystem.
+ * <p>
+ * Each blob is stored once, in a file named after the hex-encoded SHA-256 digest of its content, so identical images
+ * uploaded to several albums share the same file. Files are never modified once written, and are read through
+ * memory mappings.
+ */
+@Repository
+public class BlobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlobStore.class);
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    private final Path tmp;
+
+    public BlobStore(ApplicationProperties applicationProperties) throws IOException {
+        this.root = Path.of(applicationProperties.getBlobStore().getPath()).toAbsolutePath();
+        this.tmp = root.resolve("tmp");
+        Files.createDirectories(tmp);
+        LOG.debug("Blob store located in {}", root);
+    }
+
+    /**
+     * Store a blob, unless an identical one is already stored.
+     *
+     * @param data the content of the blob.
+     * @return the hex-encoded SHA-256 digest of the content, which identifies the blob.
+     * @throws UncheckedIOException if the blob cannot be written.
+     */
+    public String put(byte[] data) {
+        String hash = sha256Hex(data);
+        Path target = path(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            // Write aside then move, so a blob is never visible partially written
+            temp = Files.createTempFile(tmp, hash, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently with the same content
+            LOG.trace("Blob {} stored concurrently", hash);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob " + hash, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+        return hash;
+    }
+
+    /**
+     * @param hash the identifier of the blob.
+     * @return whether the blob is stored.
+     */
+    public boolean exists(String hash) {
+        return Files.exists(path(hash));
+    }
+
+    /**
+     * Read a whole blob in memory.
+     *
+     * @param hash the identifier of the blob.
+     * @return the content of the blob, or empty if it is not stored.
+     * @throws UncheckedIOException if the blob cannot be read.
+     */
+    public Optional<byte[]> read(String hash) {
+        try {
+            return Optional.of(Files.readAllBytes(path(hash)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read blob " + hash, e);
+        }
+    }
+
+    /**
+     * Get a blob as a resource, whose streams read a memory mapping of the blob file.
+     *
+     * @param hash the identifier of the blob.
+     * @return the resource, which does not exist if the blob is not stored.
+     */
+    public Resource getResource(String hash) {
+        return new MappedBlobResource(path(hash));
+    }
+
+    private Path path(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid blob hash: " + hash);
+        }
+        // Two levels of directories keep the number of entries per directory low
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warn("Could not delete temporary blob file {}", path, e);
+        }
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A file resource reading the file through a memory mapping instead of a file stream.
+     */
+    private static final class MappedBlobResource extends FileSystemResource {
+
+        private MappedBlobResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            try (FileChannel channel = FileChannel.open(getFile().toPath(), StandardOpenOption.READ)) {
+                // The mapping stays valid once the channel is closed
+                return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (NoSuchFileException e) {
+                throw new FileNotFoundException(getDescription() + " does not exist");
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private static final int TRANSFER_CHUNK_SIZE = 64 * 1024;
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long transferred = buffer.remaining();
+            byte[] chunk = new byte[(int) Math.min(TRANSFER_CHUNK_SIZE, transferred)];
+            while (buffer.hasRemaining()) {
+                int count = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, count);
+                out.write(chunk, 0, count);
+            }
+            return transferred;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * A group of the gallery by event, with its number of albums.
+ *
+ * @param event the event of the albums of the group, {@code null} for the albums without an event.
+ * @param albumCount the number of albums in the group.
+ */
+public record GalleryGroup(String event, long albumCount) {}
@@ -0,0 +1,162 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.AlbumChange;
+import com.mycompany.myapp.repository.AlbumChangeRepository;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import com.mycompany.myapp.service.dto.AlbumChangeDTO;
+import com.mycompany.myapp.service.dto.AlbumChangeFeedDTO;
+import com.mycompany.myapp.service.mapper.AlbumMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service for the feed of the changes of the albums, used by clients keeping a copy of the gallery in sync.
+ * <p>
+ * The changes are logged in the transaction changing the albums, with one batch of inserts just before it commits.
+ * A client reads the feed from a token, the position of the last change it read. As transactions commit in a slightly
+ * different order than they log their changes, the token never moves past changes younger than the settle time:
+ * such changes are read again, rather than a change committed late being skipped.
+ */
+@Service
+public class AlbumChangeFeedService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumChangeFeedService.class);
+
+    private final AlbumChangeRepository albumChangeRepository;
+
+    private final AlbumRepository albumRepository;
+
+    private final AlbumMapper albumMapper;
+
+    private final Duration settleTime;
+
+    public AlbumChangeFeedService(
+        AlbumChangeRepository albumChangeRepository,
+        AlbumRepository albumRepository,
+        AlbumMapper albumMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.albumChangeRepository = albumChangeRepository;
+        this.albumRepository = albumRepository;
+        this.albumMapper = albumMapper;
+        this.settleTime = applicationProperties.getChangeFeed().getSettleTime();
+    }
+
+    /**
+     * Record a change in the changes to log when its transaction commits.
+     */
+    @EventListener
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        Map<Long, Boolean> pending = pendingChanges();
+        // Only the last change of an album in a transaction is logged
+        pending.remove(event.albumId());
+        pending.put(event.albumId(), event.deleted());
+    }
+
+    /**
+     * Record the creation of imported albums in the changes to log when their transaction commits.
+     */
+    @EventListener
+    public void onAlbumsImported(AlbumsImportedEvent event) {
+        Map<Long, Boolean> pending = pendingChanges();
+        for (Long albumId : event.albumIds()) {
+            pending.remove(albumId);
+            pending.put(albumId, false);
+        }
+    }
+
+    private Map<Long, Boolean> pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Albums must be changed in a transaction, for their changes to be logged");
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, Boolean> pending = (Map<Long, Boolean>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, Boolean> changes = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new PendingChanges(changes));
+            pending = changes;
+        }
+        return pending;
+    }
+
+    /**
+     * Get the changes logged after a token.
+     *
+     * @param since the token returned by the previous call, or {@code null} to only get the current token.
+     * @param size the maximum number of changes to read from the log.
+     * @return the albums changed since the token, with the token to read the following changes from.
+     */
+    @Transactional(readOnly = true)
+    public AlbumChangeFeedDTO getChanges(Long since, int size) {
+        LOG.debug("Request to get the changes of Albums since {}", since);
+        Instant settled = Instant.now().minus(settleTime);
+        if (since == null) {
+            // Clients read the albums after getting the token, so the changes made meanwhile are read again
+            return new AlbumChangeFeedDTO(List.of(), albumChangeRepository.findLastIdBefore(settled).orElse(0L), false);
+        }
+
+        List<AlbumChange> log = albumChangeRepository.findAfter(since, size + 1);
+        boolean more = log.size() > size;
+        long token = since;
+        boolean allSettled = true;
+        Map<Long, Boolean> changes = new LinkedHashMap<>();
+        for (AlbumChange change : more ? log.subList(0, size) : log) {
+            allSettled = allSettled && change.changedAt().isBefore(settled);
+            if (allSettled) {
+                token = change.id();
+            }
+            changes.remove(change.albumId());
+            changes.put(change.albumId(), change.deleted());
+        }
+
+        List<Long> updatedIds = changes.entrySet().stream().filter(change -> !change.getValue()).map(Map.Entry::getKey).toList();
+        Map<Long, AlbumSummary> albums = updatedIds.isEmpty()
+            ? Map.of()
+            : albumRepository.findSummariesByIdIn(updatedIds).stream().collect(Collectors.toMap(AlbumSummary::id, Function.identity()));
+        // An album updated then deleted by changes beyond this page is already reported as deleted
+        List<AlbumChangeDTO> feed = changes
+            .keySet()
+            .stream()
+            .map(albumId ->
+                albums.containsKey(albumId)
+                    ? AlbumChangeDTO.updated(albumMapper.toSummaryDto(albums.get(albumId)))
+                    : AlbumChangeDTO.deleted(albumId)
+            )
+            .toList();
+        return new AlbumChangeFeedDTO(feed, token, more && allSettled);
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<Long, Boolean> changes;
+
+        private PendingChanges(Map<Long, Boolean> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            albumChangeRepository.append(changes, Instant.now());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(AlbumChangeFeedService.this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Album;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Published when an album is created, updated or deleted.
+ *
+ * @param albumId the id of the album.
+ * @param ownerIds the ids of the users owning the album before and after the change.
+ * @param deleted whether the album was deleted.
+ */
+public record AlbumChangedEvent(Long albumId, Set<Long> ownerIds, boolean deleted) {
+    public AlbumChangedEvent(Long albumId) {
+        this(albumId, Set.of(), false);
+    }
+
+    /**
+     * @param album the album, as saved.
+     * @param previousOwnerId the id of the user owning the album before the change, if any.
+     * @return the event of the change.
+     */
+    static AlbumChangedEvent of(Album album, Long previousOwnerId) {
+        Set<Long> ownerIds = new HashSet<>(2);
+        if (previousOwnerId != null) {
+            ownerIds.add(previousOwnerId);
+        }
+        if (album.getUser() != null && album.getUser().getId() != null) {
+            ownerIds.add(album.getUser().getId());
+        }
+        return new AlbumChangedEvent(album.getId(), Set.copyOf(ownerIds), false);
+    }
+
+    /**
+     * @param albumId the id of the deleted album.
+     * @param ownerId the id of the user owning the album, if any.
+     * @return the event of the deletion.
+     */
+    static AlbumChangedEvent ofDeletion(Long albumId, Long ownerId) {
+        return new AlbumChangedEvent(albumId, ownerId != null ? Set.of(ownerId) : Set.of(), true);
+    }
+}
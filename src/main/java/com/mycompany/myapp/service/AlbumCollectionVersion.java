@@ -0,0 +1,21 @@
+package com.mycompany.myapp.service;
+
+import java.time.Instant;
+
+/**
+ * A version of the collection of albums, which changes whenever an album is created, updated or deleted.
+ *
+ * @param instance the identifier of what issued the version: an instance of the application, or the database for the
+ * versions shared by all the instances.
+ * @param number the number of changes committed since it started.
+ * @param lastModified when the last change was committed, or when it started if there was none.
+ */
+public record AlbumCollectionVersion(String instance, long number, Instant lastModified) {
+    /**
+     * @return the weak entity tag of the version: the collection listings it covers are semantically, not
+     * byte-for-byte, equivalent.
+     */
+    public String eTag() {
+        return "W/\"" + instance + "-" + number + "\"";
+    }
+}
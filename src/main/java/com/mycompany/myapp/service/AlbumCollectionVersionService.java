@@ -0,0 +1,51 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AlbumCollectionRevision;
+import com.mycompany.myapp.repository.AlbumCollectionRevisionRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service giving the {@link AlbumCollectionVersion} of the albums, used to answer conditional requests on the album
+ * listings without reading them.
+ * <p>
+ * The version is read from the database, so all the instances of the application give the same one. It counts the
+ * changes of the albums, from the log {@link AlbumChangeFeedService} writes in the transaction of each change, so a
+ * listing is never labelled with a version older than the data it was read from. It also counts the refreshes of the
+ * gallery view, as the gallery is read from the view, which is refreshed later: a gallery read in between is labelled
+ * with a version which the refresh makes stale.
+ */
+@Service
+public class AlbumCollectionVersionService {
+
+    private final AlbumCollectionRevisionRepository albumCollectionRevisionRepository;
+
+    public AlbumCollectionVersionService(AlbumCollectionRevisionRepository albumCollectionRevisionRepository) {
+        this.albumCollectionRevisionRepository = albumCollectionRevisionRepository;
+    }
+
+    /**
+     * @return the current version of the collection of albums.
+     */
+    public AlbumCollectionVersion getCurrentVersion() {
+        AlbumCollectionRevision revision = albumCollectionRevisionRepository.find();
+        Instant lastModified = revision.lastChangedAt() != null && revision.lastChangedAt().isAfter(revision.viewRefreshedAt())
+            ? revision.lastChangedAt()
+            : revision.viewRefreshedAt();
+        // Both counts only grow, and each change or refresh grows one of them
+        return new AlbumCollectionVersion(
+            Long.toString(revision.createdAt().toEpochMilli(), 36),
+            revision.lastChangeId() + revision.viewVersion(),
+            // Last-Modified only has a precision of one second
+            lastModified.truncatedTo(ChronoUnit.SECONDS)
+        );
+    }
+
+    /**
+     * Bump the version, once a read model of the albums was refreshed.
+     */
+    public void bump() {
+        albumCollectionRevisionRepository.bumpViewVersion(Instant.now());
+    }
+}
@@ -0,0 +1,221 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import com.mycompany.myapp.service.dto.AlbumEventDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory index of the distinct events of the albums, to suggest existing events while an album is edited.
+ * <p>
+ * The events are held in an {@link EventTrie} with their number of albums. The trie is loaded once from the database,
+ * then maintained incrementally: after a change to an album is committed, the album is read again by
+ * {@link AlbumIndexUpdater} and counted under its new event instead of its previous one. The event of each album is
+ * kept for that purpose.
+ * <p>
+ * The changes committed by other instances of the application, and the ones whose update was lost, are repaired by a
+ * scheduled consistency check against the database.
+ */
+@Service
+public class AlbumEventIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumEventIndex.class);
+
+    private final AlbumRepository albumRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Object loadLock = new Object();
+
+    // Ids of the albums changed while the index is loaded, read again once it is
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    // The fields below are guarded by the lock
+    private Map<Long, String> albumEvents;
+
+    private EventTrie events;
+
+    public AlbumEventIndex(AlbumRepository albumRepository, PlatformTransactionManager transactionManager) {
+        this.albumRepository = albumRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            // The database may not be migrated yet: the index is loaded on the first request
+            LOG.warn("Could not load the album event index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a change to an album, read again by {@link AlbumIndexUpdater} once it was committed.
+     *
+     * @param albumId the id of the album.
+     * @param album the album as committed, empty if it was deleted.
+     */
+    void onAlbumChanged(Long albumId, Optional<AlbumSummary> album) {
+        if (loading) {
+            changedDuringLoad.add(albumId);
+        }
+        // Until the index is loaded, the change is read with the other albums
+        if (isLoaded()) {
+            apply(albumId, album.map(AlbumSummary::event));
+        }
+    }
+
+    /**
+     * Get the events starting with a prefix, ignoring case.
+     *
+     * @param prefix the start of the event, empty to get the events with the most albums.
+     * @param limit the maximum number of events.
+     * @return the events, the ones with the most albums first.
+     */
+    public List<AlbumEventDTO> suggest(String prefix, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return events
+                .complete(prefix, limit)
+                .stream()
+                .map(completion -> new AlbumEventDTO(completion.event(), completion.albumCount()))
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Load the index again from the database.
+     */
+    public void load() {
+        synchronized (loadLock) {
+            LOG.debug("Loading the album event index");
+            changedDuringLoad.clear();
+            loading = true;
+            Map<Long, String> loaded = new HashMap<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<AlbumSummary> albums = albumRepository.streamAllSummaries()) {
+                        albums.filter(album -> album.event() != null).forEach(album -> loaded.put(album.id(), album.event()));
+                    }
+                });
+            } finally {
+                loading = false;
+            }
+            EventTrie trie = new EventTrie();
+            loaded.values().forEach(trie::add);
+            lock.writeLock().lock();
+            try {
+                albumEvents = loaded;
+                events = trie;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            changedDuringLoad.forEach(this::reload);
+            changedDuringLoad.clear();
+            LOG.info("Loaded {} events of {} albums in the album event index", trie.size(), loaded.size());
+        }
+    }
+
+    /**
+     * Compare the events of the albums with the database, and repair the differences.
+     *
+     * @return the number of albums which were missing, outdated or deleted in the index.
+     */
+    public int checkConsistency() {
+        ensureLoaded();
+        Map<Long, String> unseen;
+        lock.readLock().lock();
+        try {
+            unseen = new HashMap<>(albumEvents);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> differences = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AlbumSummary> albums = albumRepository.streamAllSummaries()) {
+                albums.forEach(album -> {
+                    if (!Objects.equals(album.event(), unseen.remove(album.id()))) {
+                        differences.add(album.id());
+                    }
+                });
+            }
+        });
+        differences.addAll(unseen.keySet());
+        if (!differences.isEmpty()) {
+            LOG.warn("The album event index differed from the database for {} albums, reloading them", differences.size());
+            differences.forEach(this::reload);
+        }
+        return differences.size();
+    }
+
+    @Scheduled(cron = "${application.event-index.consistency-check-cron:0 20 * * * ?}")
+    public void scheduledConsistencyCheck() {
+        checkConsistency();
+    }
+
+    private boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return events != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!isLoaded()) {
+            synchronized (loadLock) {
+                if (!isLoaded()) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private void reload(Long albumId) {
+        apply(albumId, albumRepository.findSummaryById(albumId).map(AlbumSummary::event));
+    }
+
+    private void apply(Long albumId, Optional<String> event) {
+        lock.writeLock().lock();
+        try {
+            String previous = event.isPresent() ? albumEvents.put(albumId, event.get()) : albumEvents.remove(albumId);
+            if (Objects.equals(previous, event.orElse(null))) {
+                return;
+            }
+            if (previous != null) {
+                events.remove(previous);
+            }
+            event.ifPresent(events::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mycompany.myapp.service;
+
+/**
+ * The formats of the export of the albums.
+ */
+public enum AlbumExportFormat {
+    /**
+     * One JSON album summary per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values, with a header line.
+     */
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+
+    private final String extension;
+
+    AlbumExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
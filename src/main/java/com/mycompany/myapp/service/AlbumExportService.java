@@ -0,0 +1,114 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import com.mycompany.myapp.service.dto.AlbumSummaryDTO;
+import com.mycompany.myapp.service.mapper.AlbumMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting all the albums.
+ * <p>
+ * The albums are read from a forward-only cursor as blob-free summaries, which are not managed by the persistence
+ * context, and written as they are read: the memory used does not depend on the number of albums. The thumbnails
+ * are exported as their metadata, the images themselves are in the blob store under their hash.
+ */
+@Service
+public class AlbumExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumExportService.class);
+
+    private static final String CSV_HEADER =
+        "id,name,event,creationDate,overrideDate,effectiveDate,thumbnailContentType,thumbnailSize,thumbnailHash,userLogin";
+
+    private final AlbumRepository albumRepository;
+
+    private final AlbumMapper albumMapper;
+
+    private final ObjectWriter summaryWriter;
+
+    public AlbumExportService(AlbumRepository albumRepository, AlbumMapper albumMapper, ObjectMapper objectMapper) {
+        this.albumRepository = albumRepository;
+        this.albumMapper = albumMapper;
+        this.summaryWriter = objectMapper.writerFor(AlbumSummaryDTO.class);
+    }
+
+    /**
+     * Write all the albums, ordered by id.
+     *
+     * @param format the format of the export.
+     * @param output the stream to write to, which is flushed but not closed.
+     * @return the number of albums written.
+     * @throws IOException if the albums cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAlbums(AlbumExportFormat format, OutputStream output) throws IOException {
+        LOG.debug("Request to export Albums as {}", format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long count = 0;
+        try (Stream<AlbumSummary> albums = albumRepository.streamAllSummaries()) {
+            if (format == AlbumExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write("\r\n");
+            }
+            Iterator<AlbumSummary> iterator = albums.iterator();
+            while (iterator.hasNext()) {
+                AlbumSummary album = iterator.next();
+                if (format == AlbumExportFormat.CSV) {
+                    writeCsv(writer, album);
+                } else {
+                    writer.write(summaryWriter.writeValueAsString(albumMapper.toSummaryDto(album)));
+                    writer.write('\n');
+                }
+                count++;
+            }
+        }
+        writer.flush();
+        LOG.debug("Exported {} albums", count);
+        return count;
+    }
+
+    private static void writeCsv(Writer writer, AlbumSummary album) throws IOException {
+        Object[] values = {
+            album.id(),
+            album.name(),
+            album.event(),
+            album.creationDate(),
+            album.overrideDate(),
+            album.effectiveDate(),
+            album.thumbnailContentType(),
+            album.thumbnailSize(),
+            album.thumbnailHash(),
+            album.userLogin(),
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
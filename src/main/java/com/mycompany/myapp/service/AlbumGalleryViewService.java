@@ -0,0 +1,185 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AlbumGalleryViewRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service maintaining {@code album_gallery_view}, the flat read model the gallery is read from.
+ * <p>
+ * An album is refreshed in the view on the async executor once its change is committed, so the view lags behind the
+ * albums by the time the refresh waits in the queue. This lag, the number of pending refreshes and the refreshes which
+ * failed are published as metrics. A failed or lost refresh is repaired by the scheduled rebuild of the view.
+ * <p>
+ * The {@link GallerySliceCache} is invalidated once the view is refreshed, as its slices are read from the view, and the
+ * {@link AlbumCollectionVersion} is bumped, so the gallery read from the view before it caught up is revalidated.
+ */
+@Service
+public class AlbumGalleryViewService {
+
+    public static final String LAG_METER_NAME = "gallery.view.lag";
+
+    public static final String PENDING_METER_NAME = "gallery.view.pending";
+
+    public static final String FAILURES_METER_NAME = "gallery.view.failures";
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumGalleryViewService.class);
+
+    private final AlbumGalleryViewRepository albumGalleryViewRepository;
+
+    private final GallerySliceCache gallerySliceCache;
+
+    private final AlbumCollectionVersionService albumCollectionVersionService;
+
+    private final Executor taskExecutor;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Timer lag;
+
+    private final Counter failures;
+
+    public AlbumGalleryViewService(
+        AlbumGalleryViewRepository albumGalleryViewRepository,
+        GallerySliceCache gallerySliceCache,
+        AlbumCollectionVersionService albumCollectionVersionService,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MeterRegistry registry
+    ) {
+        this.albumGalleryViewRepository = albumGalleryViewRepository;
+        this.gallerySliceCache = gallerySliceCache;
+        this.albumCollectionVersionService = albumCollectionVersionService;
+        this.taskExecutor = taskExecutor;
+        this.lag = Timer.builder(LAG_METER_NAME)
+            .description("Time from the commit of a change of an album to its refresh in the gallery view.")
+            .register(registry);
+        this.failures = Counter.builder(FAILURES_METER_NAME)
+            .baseUnit("errors")
+            .description("Refreshes of the gallery view which failed, until the next rebuild.")
+            .register(registry);
+        Gauge.builder(PENDING_METER_NAME, pending, AtomicInteger::get)
+            .description("Refreshes of the gallery view which are queued or running.")
+            .register(registry);
+    }
+
+    @TransactionalEventListener
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        long committedAt = System.nanoTime();
+        pending.incrementAndGet();
+        try {
+            taskExecutor.execute(() -> refresh(event.albumId(), committedAt));
+        } catch (TaskRejectedException e) {
+            pending.decrementAndGet();
+            failures.increment();
+            LOG.warn("Could not queue the refresh of Album {} in the gallery view: {}", event.albumId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAlbumsImported(AlbumsImportedEvent event) {
+        long committedAt = System.nanoTime();
+        pending.incrementAndGet();
+        try {
+            taskExecutor.execute(() -> refreshAll(event.albumIds(), committedAt));
+        } catch (TaskRejectedException e) {
+            pending.decrementAndGet();
+            failures.increment();
+            LOG.warn("Could not queue the refresh of {} imported Albums in the gallery view: {}", event.albumIds().size(), e.getMessage());
+        }
+    }
+
+    private void refreshAll(List<Long> albumIds, long committedAt) {
+        try {
+            refreshAll(albumIds);
+            lag.record(System.nanoTime() - committedAt, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            failures.increment();
+            LOG.warn("Could not refresh {} imported Albums in the gallery view: {}", albumIds.size(), e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    private void refresh(Long albumId, long committedAt) {
+        try {
+            refresh(albumId);
+            lag.record(System.nanoTime() - committedAt, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            failures.increment();
+            LOG.warn("Could not refresh Album {} in the gallery view: {}", albumId, e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Copy an album to the gallery view again, or remove it if it was deleted.
+     *
+     * @param albumId the id of the album.
+     */
+    public void refresh(Long albumId) {
+        LOG.debug("Refreshing Album {} in the gallery view", albumId);
+        Optional<AlbumSummary> previous = albumGalleryViewRepository.findById(albumId);
+        try {
+            albumGalleryViewRepository.refresh(albumId);
+        } catch (DuplicateKeyException e) {
+            // A concurrent refresh of the same album inserted it first: copying it again reads the latest commit
+            albumGalleryViewRepository.refresh(albumId);
+        }
+        gallerySliceCache.onGalleryViewRefreshed(albumId, previous);
+        albumCollectionVersionService.bump();
+    }
+
+    /**
+     * Copy albums to the gallery view again, with one statement.
+     *
+     * @param albumIds the ids of the albums.
+     */
+    public void refreshAll(List<Long> albumIds) {
+        LOG.debug("Refreshing {} Albums in the gallery view", albumIds.size());
+        try {
+            albumGalleryViewRepository.refreshAll(albumIds);
+        } catch (DuplicateKeyException e) {
+            // A concurrent refresh of one of the albums inserted it first: copying them again reads the latest commit
+            albumGalleryViewRepository.refreshAll(albumIds);
+        }
+        // The albums move into all the orderings, which makes most slices stale
+        gallerySliceCache.clear();
+        albumCollectionVersionService.bump();
+    }
+
+    /**
+     * Copy all the albums to the gallery view again.
+     *
+     * @return the number of albums in the view.
+     */
+    public int rebuild() {
+        LOG.debug("Rebuilding the gallery view");
+        int count = albumGalleryViewRepository.rebuild();
+        gallerySliceCache.clear();
+        albumCollectionVersionService.bump();
+        LOG.info("Rebuilt the gallery view with {} albums", count);
+        return count;
+    }
+
+    @Scheduled(cron = "${application.gallery-view.rebuild-cron:0 15 3 * * ?}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+}
@@ -0,0 +1,178 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mycompany.myapp.domain.Album;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.BlobStore;
+import com.mycompany.myapp.service.dto.AlbumDTO;
+import com.mycompany.myapp.service.dto.AlbumImportResultDTO;
+import com.mycompany.myapp.service.mapper.AlbumMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing albums in bulk from a stream of JSON records, one per line.
+ * <p>
+ * Each record is validated like a single album creation, and the valid ones are persisted in chunks, each in its own
+ * transaction, so their inserts are sent in JDBC batches of {@code hibernate.jdbc.batch_size} statements. When a chunk
+ * fails, its records are persisted again one by one, so a rejected record never prevents the others from being imported.
+ * <p>
+ * Each chunk publishes one {@link AlbumsImportedEvent}, so an import queues a few tasks per chunk on the executor rather
+ * than a few per album, which a large import would overflow its queue with.
+ */
+@Service
+public class AlbumImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumImportService.class);
+
+    /**
+     * The number of albums persisted per transaction, a multiple of {@code hibernate.jdbc.batch_size}.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final AlbumRepository albumRepository;
+
+    private final BlobStore blobStore;
+
+    private final AlbumMapper albumMapper;
+
+    private final Validator validator;
+
+    private final ObjectReader albumReader;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AlbumImportService(
+        AlbumRepository albumRepository,
+        BlobStore blobStore,
+        AlbumMapper albumMapper,
+        Validator validator,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.albumRepository = albumRepository;
+        this.blobStore = blobStore;
+        this.albumMapper = albumMapper;
+        this.validator = validator;
+        this.albumReader = objectMapper.readerFor(AlbumDTO.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Import albums from newline-delimited JSON.
+     *
+     * @param input the records, one {@link AlbumDTO} without id per line. Blank lines are ignored.
+     * @return the number of albums imported, and the records which were rejected.
+     * @throws IOException if the input cannot be read.
+     */
+    public AlbumImportResultDTO importAlbums(InputStream input) throws IOException {
+        LOG.debug("Request to import Albums");
+        AlbumImportResultDTO result = new AlbumImportResultDTO();
+        List<AlbumRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                AlbumRecord albumRecord = parse(lineNumber, line, result);
+                if (albumRecord != null) {
+                    chunk.add(albumRecord);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        persist(chunk, result);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persist(chunk, result);
+        }
+        LOG.info("Imported {} albums, rejected {}", result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private AlbumRecord parse(long lineNumber, String line, AlbumImportResultDTO result) {
+        AlbumDTO albumDTO;
+        try {
+            albumDTO = albumReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            result.addFailure(lineNumber, "Invalid JSON: " + e.getOriginalMessage(), MAX_REPORTED_FAILURES);
+            return null;
+        }
+        if (albumDTO.getId() != null) {
+            result.addFailure(lineNumber, "A new album cannot already have an ID", MAX_REPORTED_FAILURES);
+            return null;
+        }
+        Set<ConstraintViolation<AlbumDTO>> violations = validator.validate(albumDTO);
+        if (!violations.isEmpty()) {
+            String message = violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+            result.addFailure(lineNumber, message, MAX_REPORTED_FAILURES);
+            return null;
+        }
+        return new AlbumRecord(lineNumber, albumDTO);
+    }
+
+    private void persist(List<AlbumRecord> chunk, AlbumImportResultDTO result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(chunk));
+            result.addImported(chunk.size());
+        } catch (RuntimeException chunkFailure) {
+            LOG.debug("Could not import a chunk of albums, importing its albums one by one: {}", chunkFailure.getMessage());
+            for (AlbumRecord albumRecord : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> save(List.of(albumRecord)));
+                    result.addImported(1);
+                } catch (RuntimeException e) {
+                    result.addFailure(albumRecord.line(), NestedExceptionUtils.getMostSpecificCause(e).getMessage(), MAX_REPORTED_FAILURES);
+                }
+            }
+        }
+    }
+
+    private void save(List<AlbumRecord> albumRecords) {
+        // Mapped again on each attempt, as a failed attempt leaves ids on the entities
+        List<Album> albums = albumRecords.stream().map(albumRecord -> albumMapper.toEntity(albumRecord.album())).toList();
+        for (Album album : albums) {
+            if (album.getThumbnail() != null) {
+                blobStore.put(album.getThumbnail());
+            }
+        }
+        // New albums are persisted, and their inserts batched when the transaction is flushed
+        albumRepository.saveAll(albums);
+        // A single event for the chunk, so its albums are refreshed by a single task of the executor
+        eventPublisher.publishEvent(AlbumsImportedEvent.of(albums));
+    }
+
+    private record AlbumRecord(long line, AlbumDTO album) {}
+}
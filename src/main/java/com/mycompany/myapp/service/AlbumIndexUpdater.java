@@ -0,0 +1,135 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service keeping the in-memory indexes of the albums up to date: once a change to an album is committed, the album is
+ * read again, once, and applied to each index.
+ * <p>
+ * The album is read on the async executor, so a write answers without waiting for it, and a failure of the indexes does
+ * not fail a write which is already committed. The reads of a same album are serialized with its update of the
+ * indexes, so the last change committed is the last one applied. The albums created by a chunk of an import are read
+ * with one query, by a single task.
+ */
+@Service
+public class AlbumIndexUpdater {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumIndexUpdater.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final AlbumRepository albumRepository;
+
+    private final AlbumSearchIndex albumSearchIndex;
+
+    private final AlbumTimelineService albumTimelineService;
+
+    private final AlbumEventIndex albumEventIndex;
+
+    private final Executor taskExecutor;
+
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    public AlbumIndexUpdater(
+        AlbumRepository albumRepository,
+        AlbumSearchIndex albumSearchIndex,
+        AlbumTimelineService albumTimelineService,
+        AlbumEventIndex albumEventIndex,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.albumRepository = albumRepository;
+        this.albumSearchIndex = albumSearchIndex;
+        this.albumTimelineService = albumTimelineService;
+        this.albumEventIndex = albumEventIndex;
+        this.taskExecutor = taskExecutor;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        try {
+            taskExecutor.execute(() -> update(event.albumId()));
+        } catch (TaskRejectedException e) {
+            LOG.warn("Could not queue the update of Album {} in the indexes: {}", event.albumId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAlbumsImported(AlbumsImportedEvent event) {
+        try {
+            taskExecutor.execute(() -> updateAll(event.albumIds()));
+        } catch (TaskRejectedException e) {
+            LOG.warn("Could not queue the update of {} imported Albums in the indexes: {}", event.albumIds().size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Read an album again and apply it to the indexes.
+     *
+     * @param albumId the id of the album.
+     */
+    void update(Long albumId) {
+        Lock albumLock = locks[stripe(albumId)];
+        albumLock.lock();
+        try {
+            apply(albumId, albumRepository.findSummaryById(albumId));
+        } catch (RuntimeException e) {
+            LOG.warn("Could not update Album {} in the indexes: {}", albumId, e.getMessage());
+        } finally {
+            albumLock.unlock();
+        }
+    }
+
+    /**
+     * Read albums again, with one query, and apply them to the indexes.
+     *
+     * @param albumIds the ids of the albums.
+     */
+    void updateAll(Collection<Long> albumIds) {
+        // Locked in order, so the batch is serialized with the updates of its albums without deadlocking with another
+        SortedSet<Integer> stripes = albumIds.stream().map(this::stripe).collect(Collectors.toCollection(TreeSet::new));
+        stripes.forEach(stripe -> locks[stripe].lock());
+        try {
+            Map<Long, AlbumSummary> albums = albumRepository
+                .findSummariesByIdIn(albumIds)
+                .stream()
+                .collect(Collectors.toMap(AlbumSummary::id, Function.identity()));
+            for (Long albumId : albumIds) {
+                apply(albumId, Optional.ofNullable(albums.get(albumId)));
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not update {} Albums in the indexes: {}", albumIds.size(), e.getMessage());
+        } finally {
+            stripes.forEach(stripe -> locks[stripe].unlock());
+        }
+    }
+
+    private void apply(Long albumId, Optional<AlbumSummary> album) {
+        albumSearchIndex.onAlbumChanged(albumId, album);
+        albumTimelineService.onAlbumChanged(albumId, album);
+        albumEventIndex.onAlbumChanged(albumId, album);
+    }
+
+    private int stripe(Long albumId) {
+        return Math.floorMod(albumId.hashCode(), locks.length);
+    }
+}
@@ -0,0 +1,97 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AlbumRendition;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import com.mycompany.myapp.repository.AlbumThumbnailRepository;
+import com.mycompany.myapp.repository.BlobStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service deriving the downscaled renditions of the album thumbnails.
+ * <p>
+ * Renditions are derived asynchronously once the album is committed, so saving an album does not wait for its
+ * thumbnail to be decoded. They are stored in a transaction of their own, as the one of the album is already
+ * completed when they are derived.
+ */
+@Service
+public class AlbumRenditionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumRenditionService.class);
+
+    private final AlbumRepository albumRepository;
+
+    private final AlbumThumbnailRepository albumThumbnailRepository;
+
+    private final BlobStore blobStore;
+
+    public AlbumRenditionService(AlbumRepository albumRepository, AlbumThumbnailRepository albumThumbnailRepository, BlobStore blobStore) {
+        this.albumRepository = albumRepository;
+        this.albumThumbnailRepository = albumThumbnailRepository;
+        this.blobStore = blobStore;
+    }
+
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onThumbnailChanged(AlbumThumbnailChangedEvent event) {
+        generateRenditions(event.albumId());
+    }
+
+    /**
+     * Derive the renditions of the thumbnails of a chunk of imported albums, one album after the other, in a single task
+     * of the executor.
+     * <p>
+     * The transaction of the import is suspended, so the renditions of each album are stored in a transaction of their
+     * own and a failure only loses the ones of that album.
+     *
+     * @param event the imported albums.
+     */
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onAlbumsImported(AlbumsImportedEvent event) {
+        for (Long albumId : event.thumbnailAlbumIds()) {
+            try {
+                generateRenditions(albumId);
+            } catch (RuntimeException e) {
+                LOG.warn("Could not derive the thumbnail renditions of Album {}: {}", albumId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Derive the renditions of the current thumbnail of an album, unless they already exist.
+     *
+     * @param albumId the id of the album.
+     */
+    public void generateRenditions(Long albumId) {
+        String sourceHash = albumRepository.findSummaryById(albumId).map(AlbumSummary::thumbnailHash).orElse(null);
+        if (sourceHash == null || albumThumbnailRepository.hasRenditions(albumId, sourceHash)) {
+            return;
+        }
+        LOG.debug("Deriving the thumbnail renditions of Album : {}", albumId);
+        List<AlbumRendition> renditions = new ArrayList<>();
+        try (InputStream source = blobStore.getResource(sourceHash).getInputStream()) {
+            for (ThumbnailRenderer.Rendition rendition : ThumbnailRenderer.render(source)) {
+                String hash = blobStore.put(rendition.data());
+                renditions.add(new AlbumRendition(rendition.size(), rendition.contentType(), rendition.data().length, hash));
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not derive the thumbnail renditions of Album {}: {}", albumId, e.getMessage());
+            return;
+        }
+        albumThumbnailRepository.replaceRenditions(albumId, sourceHash, renditions);
+        LOG.debug("Stored {} thumbnail renditions of Album : {}", renditions.size(), albumId);
+    }
+}
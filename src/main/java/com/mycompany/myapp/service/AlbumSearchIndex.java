@@ -0,0 +1,520 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory full-text index of the album names and events.
+ * <p>
+ * The texts are normalized (lower case, without accents nor punctuation) and split in words. Each word is indexed
+ * under its trigrams, so a query term of three characters or more matches anywhere in a word, and under its first one
+ * and two characters, so a shorter term matches the start of a word. The candidates found in the posting lists are
+ * checked against the texts, then ranked: a match in the name weighs more than one in the event, and a match at the
+ * start of a word more than one inside it.
+ * <p>
+ * The index is kept up to date with each album read again by {@link AlbumIndexUpdater} after a change to it is
+ * committed. It is written to a snapshot file on a schedule and on shutdown, and loaded from it on startup when the
+ * snapshot covers the same albums as the database; it is rebuilt from the database otherwise. A scheduled check
+ * repairs the changes a snapshot may have missed, like the ones committed by another instance.
+ */
+@Service
+public class AlbumSearchIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumSearchIndex.class);
+
+    private static final String SNAPSHOT_FILE = "albums.idx";
+
+    private static final int SNAPSHOT_MAGIC = 0x414c4958;
+
+    // Increment when the format of the snapshot or the normalization of the texts changes
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final int GRAM_LENGTH = 3;
+
+    // Prefixes the grams of the first characters of a word, so they are not mistaken for trigrams
+    private static final char PREFIX_MARK = '^';
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Hit> RELEVANCE = Comparator.comparingInt(Hit::score)
+        .reversed()
+        .thenComparing(hit -> hit.document().nameText())
+        .thenComparingLong(hit -> hit.document().id());
+
+    private static final int NAME_WEIGHT = 4;
+
+    private static final int EVENT_WEIGHT = 2;
+
+    private static final int NAME_PREFIX_BONUS = 5;
+
+    private static final int NAME_EQUALS_BONUS = 10;
+
+    private final AlbumRepository albumRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path snapshot;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Object loadLock = new Object();
+
+    // Ids of the albums changed while the index is loaded, read again once it is
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    private final AtomicBoolean changedSinceSnapshot = new AtomicBoolean();
+
+    // The fields below are guarded by the lock
+    private Map<Long, Document> documents;
+
+    private Map<String, Set<Long>> postings;
+
+    public AlbumSearchIndex(
+        AlbumRepository albumRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.albumRepository = albumRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.snapshot = Path.of(applicationProperties.getSearchIndex().getPath()).toAbsolutePath().resolve(SNAPSHOT_FILE);
+    }
+
+    /**
+     * @return the number of albums in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents != null ? documents.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            // The database may not be migrated yet: the index is loaded on the first search
+            LOG.warn("Could not load the album search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a change to an album, read again by {@link AlbumIndexUpdater} once it was committed.
+     *
+     * @param albumId the id of the album.
+     * @param album the album as committed, empty if it was deleted.
+     */
+    void onAlbumChanged(Long albumId, Optional<AlbumSummary> album) {
+        if (loading) {
+            changedDuringLoad.add(albumId);
+        }
+        // Until the index is loaded, the change is read with the other albums
+        if (isLoaded()) {
+            apply(albumId, album);
+        }
+    }
+
+    /**
+     * Search the albums whose name or event contain all the terms of a query.
+     *
+     * @param query the terms, separated by spaces or punctuation.
+     * @param offset the number of matching albums to skip.
+     * @param limit the maximum number of albums to return.
+     * @return the ids of the matching albums, the most relevant first, and the total number of matches.
+     */
+    SearchHits search(String query, long offset, int limit) {
+        ensureLoaded();
+        List<String> terms = words(normalize(query));
+        if (terms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        terms.forEach(term -> addGrams(term, grams));
+        String phrase = String.join(" ", terms);
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(grams)) {
+                Document document = documents.get(id);
+                int score = score(document, terms, phrase);
+                if (score > 0) {
+                    hits.add(new Hit(document, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> ids = hits
+            .stream()
+            .sorted(RELEVANCE)
+            .skip(offset)
+            .limit(limit)
+            .map(hit -> hit.document().id())
+            .toList();
+        return new SearchHits(ids, hits.size());
+    }
+
+    /**
+     * Build the index again from the database.
+     */
+    public void rebuild() {
+        synchronized (loadLock) {
+            LOG.debug("Building the album search index");
+            install(() -> {
+                Map<Long, Document> loaded = new HashMap<>();
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<AlbumSummary> albums = albumRepository.streamAllSummaries()) {
+                        albums.forEach(album -> loaded.put(album.id(), Document.of(album.id(), album.name(), album.event())));
+                    }
+                });
+                return loaded;
+            });
+            changedSinceSnapshot.set(true);
+            LOG.info("Built the album search index of {} albums", size());
+        }
+    }
+
+    /**
+     * Compare the index with the database, and repair the differences.
+     *
+     * @return the number of albums which were missing, outdated or deleted in the index.
+     */
+    public int checkConsistency() {
+        ensureLoaded();
+        Map<Long, Document> unseen;
+        lock.readLock().lock();
+        try {
+            unseen = new HashMap<>(documents);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> differences = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AlbumSummary> albums = albumRepository.streamAllSummaries()) {
+                albums.forEach(album -> {
+                    Document document = unseen.remove(album.id());
+                    if (document == null || !document.name().equals(album.name()) || !Objects.equals(document.event(), album.event())) {
+                        differences.add(album.id());
+                    }
+                });
+            }
+        });
+        differences.addAll(unseen.keySet());
+        if (!differences.isEmpty()) {
+            LOG.warn("The album search index differed from the database for {} albums, reloading them", differences.size());
+            differences.forEach(this::reload);
+        }
+        return differences.size();
+    }
+
+    @Scheduled(cron = "${application.search-index.consistency-check-cron:0 30 * * * ?}")
+    public void scheduledConsistencyCheck() {
+        checkConsistency();
+    }
+
+    /**
+     * Write the index to its snapshot, if it changed since the last one.
+     */
+    @Scheduled(cron = "${application.search-index.snapshot-cron:0 */5 * * * ?}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!isLoaded() || !changedSinceSnapshot.getAndSet(false)) {
+            return;
+        }
+        List<Document> entries;
+        lock.readLock().lock();
+        try {
+            entries = new ArrayList<>(documents.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            Files.createDirectories(snapshot.getParent());
+            Path tmp = Files.createTempFile(snapshot.getParent(), SNAPSHOT_FILE, ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_VERSION);
+                output.writeInt(entries.size());
+                for (Document document : entries) {
+                    output.writeLong(document.id());
+                    output.writeUTF(document.name());
+                    output.writeBoolean(document.event() != null);
+                    if (document.event() != null) {
+                        output.writeUTF(document.event());
+                    }
+                }
+            }
+            // Readers never see a partially written snapshot
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Wrote the album search index snapshot of {} albums to {}", entries.size(), snapshot);
+        } catch (IOException e) {
+            changedSinceSnapshot.set(true);
+            LOG.warn("Could not write the album search index snapshot to {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    private boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return documents != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!isLoaded()) {
+            synchronized (loadLock) {
+                if (!isLoaded() && !loadSnapshot()) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Load the index from its snapshot, if the snapshot holds as many albums as the database, up to the same id.
+     *
+     * @return whether the index was loaded.
+     */
+    private boolean loadSnapshot() {
+        Map<Long, Document> loaded = new HashMap<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION) {
+                LOG.info("The album search index snapshot {} has an outdated format", snapshot);
+                return false;
+            }
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                long id = input.readLong();
+                String name = input.readUTF();
+                String event = input.readBoolean() ? input.readUTF() : null;
+                loaded.put(id, Document.of(id, name, event));
+            }
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            LOG.warn("Could not read the album search index snapshot {}: {}", snapshot, e.getMessage());
+            return false;
+        }
+        Optional<Long> maxId = loaded.keySet().stream().max(Comparator.naturalOrder());
+        if (loaded.size() != albumRepository.count() || !maxId.equals(albumRepository.findMaxId())) {
+            LOG.info("The album search index snapshot {} is outdated", snapshot);
+            return false;
+        }
+        install(() -> loaded);
+        LOG.info("Loaded the album search index of {} albums from {}", loaded.size(), snapshot);
+        return true;
+    }
+
+    private void install(Supplier<Map<Long, Document>> loader) {
+        changedDuringLoad.clear();
+        loading = true;
+        Map<Long, Document> loaded;
+        try {
+            loaded = loader.get();
+        } finally {
+            loading = false;
+        }
+        Map<String, Set<Long>> loadedPostings = new HashMap<>();
+        loaded.values().forEach(document -> index(loadedPostings, document));
+        lock.writeLock().lock();
+        try {
+            documents = loaded;
+            postings = loadedPostings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changedDuringLoad.forEach(this::reload);
+        changedDuringLoad.clear();
+    }
+
+    private void reload(Long albumId) {
+        apply(albumId, albumRepository.findSummaryById(albumId));
+    }
+
+    private void apply(Long albumId, Optional<AlbumSummary> album) {
+        lock.writeLock().lock();
+        try {
+            if (documents == null) {
+                return;
+            }
+            Document previous = documents.remove(albumId);
+            if (previous != null) {
+                for (String gram : previous.grams()) {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids != null && ids.remove(albumId) && ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            album.ifPresent(summary -> {
+                Document document = Document.of(summary.id(), summary.name(), summary.event());
+                documents.put(document.id(), document);
+                index(postings, document);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changedSinceSnapshot.set(true);
+    }
+
+    private static void index(Map<String, Set<Long>> postings, Document document) {
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(document.id());
+        }
+    }
+
+    /**
+     * Intersect the posting lists of the grams, starting with the shortest. Must be called under the read lock.
+     */
+    private Set<Long> candidates(Set<String> grams) {
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * @return the relevance of the album for the query, or {@code 0} if it does not contain all the terms.
+     */
+    private static int score(Document document, List<String> terms, String phrase) {
+        int score = 0;
+        for (String term : terms) {
+            int termScore = Math.max(
+                termScore(document.nameText(), term, NAME_WEIGHT),
+                termScore(document.eventText(), term, EVENT_WEIGHT)
+            );
+            if (termScore == 0) {
+                return 0;
+            }
+            score += termScore;
+        }
+        if (document.nameText().equals(phrase)) {
+            score += NAME_EQUALS_BONUS;
+        } else if (document.nameText().startsWith(phrase)) {
+            score += NAME_PREFIX_BONUS;
+        }
+        return score;
+    }
+
+    private static int termScore(String text, String term, int weight) {
+        if (text == null) {
+            return 0;
+        }
+        if (text.startsWith(term) || text.contains(" " + term)) {
+            return weight;
+        }
+        if (term.length() >= GRAM_LENGTH && text.contains(term)) {
+            return weight / 2;
+        }
+        return 0;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String unaccented = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> words(String text) {
+        return text == null || text.isEmpty() ? List.of() : Arrays.asList(text.split(" "));
+    }
+
+    private static void addGrams(String word, Set<String> grams) {
+        if (word.length() < GRAM_LENGTH) {
+            grams.add(PREFIX_MARK + word);
+            return;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            grams.add(word.substring(i, i + GRAM_LENGTH));
+        }
+    }
+
+    /**
+     * The ids of the albums of a page of search results, and the total number of matching albums.
+     */
+    record SearchHits(List<Long> ids, long total) {}
+
+    private record Hit(Document document, int score) {}
+
+    private record Document(long id, String name, String event, String nameText, String eventText) {
+        static Document of(long id, String name, String event) {
+            return new Document(id, name, event, normalize(name), normalize(event));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String text : new String[] { nameText, eventText }) {
+                for (String word : words(text)) {
+                    grams.add(PREFIX_MARK + word.substring(0, 1));
+                    if (word.length() > 1) {
+                        grams.add(PREFIX_MARK + word.substring(0, 2));
+                    }
+                    addGrams(word, grams);
+                }
+            }
+            return grams;
+        }
+    }
+}
@@ -1,14 +1,40 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Album;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.AlbumGalleryViewRepository;
 import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import com.mycompany.myapp.repository.AlbumThumbnailRepository;
+import com.mycompany.myapp.repository.BlobStore;
+import com.mycompany.myapp.repository.GalleryGroup;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.dto.AlbumBatchResultDTO;
 import com.mycompany.myapp.service.dto.AlbumDTO;
+import com.mycompany.myapp.service.dto.AlbumSummaryDTO;
+import com.mycompany.myapp.service.dto.GalleryGroupDTO;
+import com.mycompany.myapp.service.dto.GalleryGroupSliceDTO;
+import com.mycompany.myapp.service.dto.GallerySliceDTO;
 import com.mycompany.myapp.service.mapper.AlbumMapper;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,11 +49,50 @@ public class AlbumService {
 
     private final AlbumRepository albumRepository;
 
+    private final AlbumGalleryViewRepository albumGalleryViewRepository;
+
+    private final AlbumThumbnailRepository albumThumbnailRepository;
+
+    private final BlobStore blobStore;
+
     private final AlbumMapper albumMapper;
 
-    public AlbumService(AlbumRepository albumRepository, AlbumMapper albumMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final GalleryIndex galleryIndex;
+
+    private final AlbumSearchIndex albumSearchIndex;
+
+    private final OwnedAlbumsCache ownedAlbumsCache;
+
+    private final GallerySliceCache gallerySliceCache;
+
+    private final UserRepository userRepository;
+
+    public AlbumService(
+        AlbumRepository albumRepository,
+        AlbumGalleryViewRepository albumGalleryViewRepository,
+        AlbumThumbnailRepository albumThumbnailRepository,
+        BlobStore blobStore,
+        AlbumMapper albumMapper,
+        ApplicationEventPublisher eventPublisher,
+        GalleryIndex galleryIndex,
+        AlbumSearchIndex albumSearchIndex,
+        OwnedAlbumsCache ownedAlbumsCache,
+        GallerySliceCache gallerySliceCache,
+        UserRepository userRepository
+    ) {
         this.albumRepository = albumRepository;
+        this.albumGalleryViewRepository = albumGalleryViewRepository;
+        this.albumThumbnailRepository = albumThumbnailRepository;
+        this.blobStore = blobStore;
         this.albumMapper = albumMapper;
+        this.eventPublisher = eventPublisher;
+        this.galleryIndex = galleryIndex;
+        this.albumSearchIndex = albumSearchIndex;
+        this.ownedAlbumsCache = ownedAlbumsCache;
+        this.gallerySliceCache = gallerySliceCache;
+        this.userRepository = userRepository;
     }
 
     /**
@@ -39,28 +104,56 @@ public class AlbumService {
     public AlbumDTO save(AlbumDTO albumDTO) {
         LOG.debug("Request to save Album : {}", albumDTO);
         Album album = albumMapper.toEntity(albumDTO);
+        storeThumbnail(album);
         album = albumRepository.save(album);
+        publishChange(album, null);
+        if (albumDTO.getThumbnail() != null) {
+            publishThumbnailChange(album);
+        }
         return albumMapper.toDto(album);
     }
 
     /**
      * Update a album.
+     * <p>
+     * The album is read from the second-level cache when it is there, so the update is a single conditional
+     * {@code UPDATE}. When the DTO carries a version, the update only applies to that version of the album.
      *
      * @param albumDTO the entity to save.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the album does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the album is not at the version of the DTO.
      */
-    public AlbumDTO update(AlbumDTO albumDTO) {
+    public Optional<AlbumDTO> update(AlbumDTO albumDTO) {
         LOG.debug("Request to update Album : {}", albumDTO);
-        Album album = albumMapper.toEntity(albumDTO);
-        album = albumRepository.save(album);
-        return albumMapper.toDto(album);
+        return albumRepository
+            .findById(albumDTO.getId())
+            .map(existingAlbum -> {
+                checkVersion(existingAlbum, albumDTO.getVersion());
+                Long previousOwnerId = ownerId(existingAlbum);
+                Album album = albumMapper.toEntity(albumDTO);
+                album.setVersion(existingAlbum.getVersion());
+                storeThumbnail(album);
+
+                // Flushed so the returned version is the updated one
+                album = albumRepository.saveAndFlush(album);
+                publishChange(album, previousOwnerId);
+                // Decided from the DTO, as the thumbnail is transient and not merged into the managed album
+                if (albumDTO.getThumbnail() != null) {
+                    publishThumbnailChange(album);
+                }
+                return album;
+            })
+            .map(albumMapper::toDto);
     }
 
     /**
      * Partially update a album.
+     * <p>
+     * Like {@link #update(AlbumDTO)}, the update only applies to the version of the DTO when it carries one.
      *
      * @param albumDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the album does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the album is not at the version of the DTO.
      */
     public Optional<AlbumDTO> partialUpdate(AlbumDTO albumDTO) {
         LOG.debug("Request to partially update Album : {}", albumDTO);
@@ -68,33 +161,334 @@ public class AlbumService {
         return albumRepository
             .findById(albumDTO.getId())
             .map(existingAlbum -> {
+                checkVersion(existingAlbum, albumDTO.getVersion());
+                Long previousOwnerId = ownerId(existingAlbum);
                 albumMapper.partialUpdate(existingAlbum, albumDTO);
+                storeThumbnail(existingAlbum);
 
-                return existingAlbum;
+                Album album = albumRepository.saveAndFlush(existingAlbum);
+                publishChange(album, previousOwnerId);
+                if (albumDTO.getThumbnail() != null) {
+                    publishThumbnailChange(album);
+                }
+                return album;
             })
-            .map(albumRepository::save)
             .map(albumMapper::toDto);
     }
 
     /**
-     * Get all the albums.
+     * Partially update several albums, each like {@link #partialUpdate(AlbumDTO)}.
+     * <p>
+     * The albums are loaded with one query and updated with batched statements, in a single transaction. An album
+     * which is missing or not at the version of its DTO is left unchanged and reported, without failing the others.
+     *
+     * @param albumDTOs the entities to update partially.
+     * @return the outcome for each DTO, in the same order.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if an album is updated concurrently, in which
+     * case none of the albums is updated.
+     */
+    public List<AlbumBatchResultDTO> partialUpdateAll(List<AlbumDTO> albumDTOs) {
+        LOG.debug("Request to partially update {} Albums", albumDTOs.size());
+        Set<Long> ids = albumDTOs.stream().map(AlbumDTO::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Album> albums = albumRepository
+            .findAllWithToOneRelationshipsByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(Album::getId, Function.identity()));
+
+        AlbumBatchResultDTO[] results = new AlbumBatchResultDTO[albumDTOs.size()];
+        Map<Integer, Long> previousOwnerIds = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            AlbumDTO albumDTO = albumDTOs.get(i);
+            Album album = albumDTO.getId() != null ? albums.get(albumDTO.getId()) : null;
+            if (albumDTO.getId() == null) {
+                results[i] = AlbumBatchResultDTO.invalid(null, "Invalid id");
+            } else if (album == null) {
+                results[i] = AlbumBatchResultDTO.notFound(albumDTO.getId());
+            } else if (albumDTO.getVersion() != null && !albumDTO.getVersion().equals(album.getVersion())) {
+                results[i] = AlbumBatchResultDTO.versionMismatch(album.getId());
+            } else {
+                previousOwnerIds.put(i, ownerId(album));
+                albumMapper.partialUpdate(album, albumDTO);
+                storeThumbnail(album);
+            }
+        }
+        // Flushed so the returned versions are the updated ones
+        albumRepository.flush();
+
+        previousOwnerIds.forEach((i, previousOwnerId) -> {
+            Album album = albums.get(albumDTOs.get(i).getId());
+            publishChange(album, previousOwnerId);
+            if (albumDTOs.get(i).getThumbnail() != null) {
+                publishThumbnailChange(album);
+            }
+            results[i] = AlbumBatchResultDTO.ok(albumMapper.toDto(album));
+        });
+        return List.of(results);
+    }
+
+    private void storeThumbnail(Album album) {
+        if (album.getThumbnail() != null) {
+            // Stored before the album is committed, so the album never references a missing blob
+            blobStore.put(album.getThumbnail());
+        }
+    }
+
+    private void publishChange(Album album, Long previousOwnerId) {
+        eventPublisher.publishEvent(AlbumChangedEvent.of(album, previousOwnerId));
+    }
+
+    private static void checkVersion(Album album, Long expectedVersion) {
+        // A concurrent update committed after this check is still caught by the version condition of the update
+        if (expectedVersion != null && !expectedVersion.equals(album.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Album.class, album.getId());
+        }
+    }
+
+    private static Long ownerId(Album album) {
+        return album.getUser() != null ? album.getUser().getId() : null;
+    }
+
+    private void publishThumbnailChange(Album album) {
+        // The renditions are derived once the transaction commits
+        eventPublisher.publishEvent(new AlbumThumbnailChangedEvent(album.getId()));
+    }
+
+    /**
+     * Get all the albums, without their thumbnail.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of album summaries.
      */
     @Transactional(readOnly = true)
-    public Page<AlbumDTO> findAll(Pageable pageable) {
+    public Page<AlbumSummaryDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Albums");
-        return albumRepository.findAll(pageable).map(albumMapper::toDto);
+        return albumRepository.findAllSummaries(pageable).map(albumMapper::toSummaryDto);
+    }
+
+    /**
+     * Get all the albums, without their thumbnail, with eager load of the owner login.
+     *
+     * @return the list of album summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<AlbumSummaryDTO> findAllWithEagerRelationships(Pageable pageable) {
+        return albumRepository.findAllSummariesWithToOneRelationships(pageable).map(albumMapper::toSummaryDto);
+    }
+
+    /**
+     * Search the albums by name and event.
+     * <p>
+     * The matching albums are found and ranked by the {@link AlbumSearchIndex}, only the albums of the requested page
+     * are read from the database.
+     *
+     * @param query the terms the name or the event of the albums must contain.
+     * @param pageable the pagination information, whose sort is ignored as the albums are ranked.
+     * @return the page of album summaries, the most relevant first.
+     */
+    @Transactional(readOnly = true)
+    public Page<AlbumSummaryDTO> search(String query, Pageable pageable) {
+        LOG.debug("Request to search for a page of Albums for query {}", query);
+        AlbumSearchIndex.SearchHits hits = albumSearchIndex.search(query, pageable.getOffset(), pageable.getPageSize());
+        Map<Long, AlbumSummary> albums = hits.ids().isEmpty()
+            ? Map.of()
+            : albumRepository.findSummariesByIdIn(hits.ids()).stream().collect(Collectors.toMap(AlbumSummary::id, Function.identity()));
+        // An album deleted since it was found is left out of the page
+        List<AlbumSummaryDTO> page = hits
+            .ids()
+            .stream()
+            .map(albums::get)
+            .filter(Objects::nonNull)
+            .map(albumMapper::toSummaryDto)
+            .toList();
+        return new PageImpl<>(page, pageable, hits.total());
+    }
+
+    /**
+     * Get a slice of the album gallery, using keyset pagination.
+     * <p>
+     * The next slice is located with a seek predicate on the sort key of the last album returned, so the cost
+     * of a request does not depend on how deep into the gallery the client is. The slice is read from the
+     * {@code album_gallery_view} read model, see {@link AlbumGalleryViewService}, through the {@link GallerySliceCache},
+     * or from the {@link GalleryIndex} once the index is loaded. The following slices are read from the same source as
+     * the first one, as the index and the database may not order names and events alike.
+     *
+     * @param sortType the gallery ordering.
+     * @param cursor the continuation token returned with the previous slice, or {@code null} for the first slice.
+     * @param size the maximum number of albums in the slice.
+     * @return the slice, with the continuation token of the next slice if there is one.
+     * @throws InvalidGalleryCursorException if the cursor is not a valid token for this ordering, or was read from the gallery
+     *         index and the index is not loaded.
+     */
+    @Transactional(readOnly = true)
+    public GallerySliceDTO findGallerySlice(GallerySortType sortType, String cursor, int size) {
+        LOG.debug("Request to get a gallery slice of Albums by {} after {}", sortType, cursor);
+        GalleryCursor after = cursor != null ? GalleryCursor.decode(cursor, sortType) : null;
+        // Fetch one extra row to know whether there is a next slice without a count query
+        int limit = size + 1;
+        if (readFromIndex(after)) {
+            List<AlbumSummary> albums = sortType == GallerySortType.DATE
+                ? galleryIndex.findByDate(after, limit)
+                : galleryIndex.findByEvent(after, limit);
+            return toGallerySlice(sortType, GalleryCursor.Source.INDEX, albums, size);
+        }
+        List<AlbumSummary> albums = gallerySliceCache.getAlbums(sortType, after, limit, () ->
+            sortType == GallerySortType.DATE ? findGalleryByDate(after, limit) : findGalleryByEvent(after, limit)
+        );
+        return toGallerySlice(sortType, GalleryCursor.Source.DATABASE, albums, size);
+    }
+
+    /**
+     * Get a slice of the groups of the gallery by event, each with its first albums.
+     * <p>
+     * Groups are ordered by event, and the albums without an event are gathered in a last, uncategorized group. The
+     * first albums of all the groups of the slice are read in a single ordered pass; the following albums of a group
+     * are fetched on demand with {@link #findGalleryGroupAlbums(String, int)}.
+     *
+     * @param cursor the continuation token returned with the previous slice, or {@code null} for the first slice.
+     * @param size the maximum number of groups in the slice.
+     * @param albumsPerGroup the maximum number of albums returned with each group.
+     * @return the slice, with the continuation token of the next slice if there is one.
+     * @throws InvalidGalleryCursorException if the cursor is not a valid group token.
+     */
+    @Transactional(readOnly = true)
+    public GalleryGroupSliceDTO findGalleryGroups(String cursor, int size, int albumsPerGroup) {
+        LOG.debug("Request to get a slice of the gallery groups of Albums after {}", cursor);
+        GalleryGroupCursor after = cursor != null ? GalleryGroupCursor.decode(cursor) : null;
+        List<GalleryGroup> groups = after == null
+            ? albumGalleryViewRepository.findGroups(size + 1)
+            : albumGalleryViewRepository.findGroupsAfter(after.getEvent(), size + 1);
+
+        String nextCursor = null;
+        if (groups.size() > size) {
+            groups = groups.subList(0, size);
+            // The uncategorized group is the last one, so it is never followed by another slice
+            nextCursor = GalleryGroupCursor.afterEvent(groups.get(size - 1).event()).encode();
+        }
+
+        List<String> events = groups.stream().map(GalleryGroup::event).filter(Objects::nonNull).toList();
+        Map<String, List<AlbumSummary>> albumsByEvent = events.isEmpty()
+            ? Map.of()
+            : albumGalleryViewRepository
+                .findFirstAlbumsByEvent(events, albumsPerGroup)
+                .stream()
+                .collect(Collectors.groupingBy(AlbumSummary::event));
+
+        List<GalleryGroupDTO> groupDTOs = new ArrayList<>(groups.size());
+        for (GalleryGroup group : groups) {
+            List<AlbumSummary> albums = group.event() != null
+                ? albumsByEvent.getOrDefault(group.event(), List.of())
+                : albumGalleryViewRepository.findWithoutEvent(albumsPerGroup);
+            String groupCursor = !albums.isEmpty() && group.albumCount() > albums.size()
+                ? GalleryCursor.after(GallerySortType.EVENT, albums.get(albums.size() - 1)).encode()
+                : null;
+            groupDTOs.add(new GalleryGroupDTO(group.event(), group.albumCount(), albumMapper.toSummaryDto(albums), groupCursor));
+        }
+        return new GalleryGroupSliceDTO(groupDTOs, nextCursor);
     }
 
     /**
-     * Get all the albums with eager load of many-to-many relationships.
+     * Get the following albums of a gallery group.
      *
-     * @return the list of entities.
+     * The albums are read from the source the cursor was issued by, which is the database for the cursors returned with
+     * the groups.
+     *
+     * @param cursor the continuation token of the group, returned with the group or with the previous albums.
+     * @param size the maximum number of albums in the slice.
+     * @return the slice of albums of the group, with the continuation token of the next slice if there is one.
+     * @throws InvalidGalleryCursorException if the cursor is not a valid token for a group, or was read from the gallery
+     *         index and the index is not loaded.
      */
-    public Page<AlbumDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return albumRepository.findAllWithEagerRelationships(pageable).map(albumMapper::toDto);
+    @Transactional(readOnly = true)
+    public GallerySliceDTO findGalleryGroupAlbums(String cursor, int size) {
+        LOG.debug("Request to get a slice of the albums of a gallery group after {}", cursor);
+        GalleryCursor after = GalleryCursor.decode(cursor, GallerySortType.EVENT);
+        int limit = size + 1;
+        if (readFromIndex(after)) {
+            return toGallerySlice(GallerySortType.EVENT, GalleryCursor.Source.INDEX, galleryIndex.findInEvent(after, limit), size);
+        }
+        List<AlbumSummary> albums = after.getEvent() == null
+            ? albumGalleryViewRepository.findWithoutEventAfter(after.getName(), after.getId(), limit)
+            : albumGalleryViewRepository.findInEventAfter(after.getEvent(), after.getName(), after.getId(), limit);
+        return toGallerySlice(GallerySortType.EVENT, GalleryCursor.Source.DATABASE, albums, size);
+    }
+
+    /**
+     * Get a slice of the albums of the current user, the most recent first, using keyset pagination.
+     * <p>
+     * The first slice is read from the {@link OwnedAlbumsCache}, the following ones from the database.
+     *
+     * @param cursor the continuation token returned with the previous slice, or {@code null} for the first slice.
+     * @param size the maximum number of albums in the slice.
+     * @return the slice, with the continuation token of the next slice if there is one.
+     * @throws InvalidGalleryCursorException if the cursor is not a valid token for this ordering.
+     */
+    @Transactional(readOnly = true)
+    public GallerySliceDTO findCurrentUserAlbums(String cursor, int size) {
+        LOG.debug("Request to get a slice of the Albums of the current user after {}", cursor);
+        GalleryCursor after = cursor != null ? GalleryCursor.decode(cursor, GallerySortType.DATE) : null;
+        Optional<Long> userId = SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneByLogin).map(User::getId);
+        if (userId.isEmpty()) {
+            return new GallerySliceDTO(List.of(), null);
+        }
+        List<AlbumSummary> albums;
+        if (after == null && size < OwnedAlbumsCache.CACHED_ALBUMS) {
+            albums = ownedAlbumsCache.getFirstAlbums(userId.get());
+            albums = albums.subList(0, Math.min(albums.size(), size + 1));
+        } else if (after == null) {
+            albums = albumRepository.findOwnedByDate(userId.get(), PageRequest.ofSize(size + 1));
+        } else {
+            albums = albumRepository.findOwnedByDateBefore(
+                userId.get(),
+                after.getEffectiveDate(),
+                after.getId(),
+                PageRequest.ofSize(size + 1)
+            );
+        }
+        return toGallerySlice(GallerySortType.DATE, GalleryCursor.Source.DATABASE, albums, size);
+    }
+
+    private boolean readFromIndex(GalleryCursor after) {
+        if (after == null) {
+            return galleryIndex.isReady();
+        }
+        // A position is only meaningful in the ordering of the source it was taken from
+        if (after.getSource() == GalleryCursor.Source.INDEX && !galleryIndex.isReady()) {
+            throw new InvalidGalleryCursorException();
+        }
+        return after.getSource() == GalleryCursor.Source.INDEX;
+    }
+
+    private GallerySliceDTO toGallerySlice(GallerySortType sortType, GalleryCursor.Source source, List<AlbumSummary> albums, int size) {
+        String nextCursor = null;
+        if (albums.size() > size) {
+            albums = albums.subList(0, size);
+            nextCursor = GalleryCursor.after(sortType, source, albums.get(size - 1)).encode();
+        }
+        return new GallerySliceDTO(albumMapper.toSummaryDto(albums), nextCursor);
+    }
+
+    private List<AlbumSummary> findGalleryByDate(GalleryCursor after, int limit) {
+        if (after == null) {
+            return albumGalleryViewRepository.findByDate(limit);
+        }
+        return albumGalleryViewRepository.findByDateBefore(after.getEffectiveDate(), after.getId(), limit);
+    }
+
+    private List<AlbumSummary> findGalleryByEvent(GalleryCursor after, int limit) {
+        if (after != null && after.getEvent() == null) {
+            // Already in the trailing section of albums without an event
+            return albumGalleryViewRepository.findWithoutEventAfter(after.getName(), after.getId(), limit);
+        }
+        List<AlbumSummary> albums = new ArrayList<>(
+            after == null
+                ? albumGalleryViewRepository.findByEvent(limit)
+                : albumGalleryViewRepository.findByEventAfter(after.getEvent(), after.getName(), after.getId(), limit)
+        );
+        if (albums.size() < limit) {
+            // The albums with an event are exhausted, continue with the ones without an event
+            albums.addAll(albumGalleryViewRepository.findWithoutEvent(limit - albums.size()));
+        }
+        return albums;
     }
 
     /**
@@ -106,7 +500,75 @@ public class AlbumService {
     @Transactional(readOnly = true)
     public Optional<AlbumDTO> findOne(Long id) {
         LOG.debug("Request to get Album : {}", id);
-        return albumRepository.findOneWithEagerRelationships(id).map(albumMapper::toDto);
+        return albumRepository
+            .findOneWithEagerRelationships(id)
+            .map(album -> {
+                AlbumDTO albumDTO = albumMapper.toDto(album);
+                if (album.getThumbnailHash() != null) {
+                    albumDTO.setThumbnail(blobStore.read(album.getThumbnailHash()).orElse(null));
+                }
+                return albumDTO;
+            });
+    }
+
+    /**
+     * Get several albums by id, with one query.
+     * <p>
+     * Unlike {@link #findOne(Long)}, the albums are returned without their thumbnail.
+     *
+     * @param ids the ids of the entities.
+     * @return the outcome for each distinct id, in the order of the ids.
+     */
+    @Transactional(readOnly = true)
+    public List<AlbumBatchResultDTO> findAllById(Collection<Long> ids) {
+        LOG.debug("Request to get Albums : {}", ids);
+        Map<Long, Album> albums = albumRepository
+            .findAllWithToOneRelationshipsByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(Album::getId, Function.identity()));
+        return ids
+            .stream()
+            .distinct()
+            .map(id ->
+                albums.containsKey(id) ? AlbumBatchResultDTO.ok(albumMapper.toDto(albums.get(id))) : AlbumBatchResultDTO.notFound(id)
+            )
+            .toList();
+    }
+
+    /**
+     * Get the thumbnail of the "id" album.
+     * <p>
+     * Only the thumbnail metadata is read here, the thumbnail itself is read from the blob store when the returned
+     * content is written.
+     *
+     * @param id the id of the entity.
+     * @param size the minimum length, in pixels, of the longest edge of the image, or {@code null} for the original
+     * thumbnail. The smallest rendition which is large enough is returned, or the original thumbnail if there is none.
+     * @return the thumbnail, or empty if the album does not exist or has no thumbnail.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AlbumThumbnail> findThumbnail(Long id, Integer size) {
+        LOG.debug("Request to get the thumbnail of Album : {} with size {}", id, size);
+        return albumRepository
+            .findSummaryById(id)
+            .filter(summary -> summary.thumbnailContentType() != null && summary.thumbnailHash() != null)
+            .flatMap(summary -> {
+                if (size != null) {
+                    Optional<AlbumThumbnail> rendition = albumThumbnailRepository
+                        .findRendition(id, size)
+                        .flatMap(r -> storedThumbnail(r.contentType(), r.hash()));
+                    if (rendition.isPresent()) {
+                        return rendition;
+                    }
+                }
+                return storedThumbnail(summary.thumbnailContentType(), summary.thumbnailHash());
+            });
+    }
+
+    private Optional<AlbumThumbnail> storedThumbnail(String contentType, String hash) {
+        return Optional.of(new AlbumThumbnail(contentType, hash, blobStore.getResource(hash))).filter(thumbnail ->
+            thumbnail.getContent().exists()
+        );
     }
 
     /**
@@ -116,6 +578,35 @@ public class AlbumService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Album : {}", id);
+        Long ownerId = albumRepository.findOwnerIdById(id).orElse(null);
         albumRepository.deleteById(id);
+        eventPublisher.publishEvent(AlbumChangedEvent.ofDeletion(id, ownerId));
+    }
+
+    /**
+     * Delete several albums by id, with one query to find them and one statement to delete them.
+     * <p>
+     * The statement bypasses the persistence context, so Hibernate evicts the albums from the second-level cache.
+     *
+     * @param ids the ids of the entities.
+     * @return the outcome for each distinct id, in the order of the ids.
+     */
+    public List<AlbumBatchResultDTO> deleteAll(Collection<Long> ids) {
+        LOG.debug("Request to delete Albums : {}", ids);
+        Map<Long, AlbumSummary> albums = albumRepository
+            .findSummariesByIdIn(ids)
+            .stream()
+            .collect(Collectors.toMap(AlbumSummary::id, Function.identity()));
+        if (!albums.isEmpty()) {
+            albumRepository.deleteAllByIdInBatch(albums.keySet());
+        }
+        for (AlbumSummary album : albums.values()) {
+            eventPublisher.publishEvent(AlbumChangedEvent.ofDeletion(album.id(), album.userId()));
+        }
+        return ids
+            .stream()
+            .distinct()
+            .map(id -> albums.containsKey(id) ? AlbumBatchResultDTO.deleted(id) : AlbumBatchResultDTO.notFound(id))
+            .toList();
     }
 }
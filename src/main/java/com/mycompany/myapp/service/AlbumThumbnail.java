@@ -0,0 +1,38 @@
+package com.mycompany.myapp.service;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * The thumbnail of an {@link com.mycompany.myapp.domain.Album}, with the metadata needed to serve it.
+ * <p>
+ * The {@link #getContent() content} is lazy: it is only read when the resource stream is opened.
+ */
+public class AlbumThumbnail {
+
+    private final String contentType;
+
+    private final String hash;
+
+    private final Resource content;
+
+    AlbumThumbnail(String contentType, String hash, Resource content) {
+        this.contentType = contentType;
+        this.hash = hash;
+        this.content = content;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return the hex-encoded SHA-256 digest of the thumbnail, or {@code null} if it has not been computed yet.
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    public Resource getContent() {
+        return content;
+    }
+}
@@ -0,0 +1,8 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Published when an album is saved with a new thumbnail.
+ *
+ * @param albumId the id of the album.
+ */
+public record AlbumThumbnailChangedEvent(Long albumId) {}
@@ -0,0 +1,68 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Album;
+import com.mycompany.myapp.repository.AlbumThumbnailRepository;
+import com.mycompany.myapp.repository.BlobStore;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Moves the album thumbnails still stored in the legacy {@code album.thumbnail} column to the {@link BlobStore}.
+ * <p>
+ * It runs at each startup and is a no-op once every thumbnail has been moved. Each album is migrated on its own, so an
+ * interrupted migration resumes where it stopped.
+ */
+@Service
+public class AlbumThumbnailMigration implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumThumbnailMigration.class);
+
+    private final AlbumThumbnailRepository albumThumbnailRepository;
+
+    private final BlobStore blobStore;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public AlbumThumbnailMigration(
+        AlbumThumbnailRepository albumThumbnailRepository,
+        BlobStore blobStore,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        this.albumThumbnailRepository = albumThumbnailRepository;
+        this.blobStore = blobStore;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> albumIds;
+        try {
+            albumIds = albumThumbnailRepository.findIdsWithLegacyThumbnail();
+        } catch (DataAccessException e) {
+            // The schema may not be up to date yet when Liquibase runs asynchronously
+            LOG.warn("Could not look for album thumbnails to move to the blob store, will retry at next startup: {}", e.getMessage());
+            return;
+        }
+        if (albumIds.isEmpty()) {
+            return;
+        }
+        LOG.info("Moving {} album thumbnails to the blob store", albumIds.size());
+        for (Long albumId : albumIds) {
+            albumThumbnailRepository
+                .findLegacyThumbnail(albumId)
+                .ifPresent(thumbnail -> {
+                    String hash = blobStore.put(thumbnail);
+                    albumThumbnailRepository.markThumbnailMigrated(albumId, hash, thumbnail.length);
+                });
+        }
+        // The albums were updated behind Hibernate's back
+        entityManagerFactory.getCache().evict(Album.class);
+        LOG.info("Moved {} album thumbnails to the blob store", albumIds.size());
+    }
+}
@@ -0,0 +1,266 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import com.mycompany.myapp.service.dto.AlbumTimelineDTO;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping the {@link AlbumTimelineDTO timeline} of the gallery: the number of albums per month and per event.
+ * <p>
+ * The counts are computed once from the database, then maintained incrementally: after a change to an album is
+ * committed, the album is read again by {@link AlbumIndexUpdater} and moved from its previous buckets to its new
+ * ones. The bucket of each album is kept for that purpose, so applying a change twice has no effect. The timeline
+ * itself is built from the counts on the first request following a change, and served from memory until the next one.
+ * <p>
+ * The changes committed by other instances of the application, and the ones whose update was lost, are repaired by a
+ * scheduled consistency check against the database.
+ */
+@Service
+public class AlbumTimelineService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlbumTimelineService.class);
+
+    private static final Comparator<String> EVENT_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final AlbumRepository albumRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String instance = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+
+    private final Object loadLock = new Object();
+
+    // Ids of the albums changed while the counts are loaded, read again once they are
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    // The fields below are guarded by the lock of the service
+    private Map<Long, Bucket> buckets;
+
+    private final TreeMap<YearMonth, Long> monthCounts = new TreeMap<>();
+
+    private final TreeMap<String, Long> eventCounts = new TreeMap<>(EVENT_ORDER);
+
+    private AlbumCollectionVersion version = new AlbumCollectionVersion(instance, 0, now());
+
+    private AlbumTimelineDTO timeline;
+
+    public AlbumTimelineService(AlbumRepository albumRepository, PlatformTransactionManager transactionManager) {
+        this.albumRepository = albumRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // The database may not be migrated yet: the counts are loaded on the first request
+            LOG.warn("Could not load the album timeline: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply a change to an album, read again by {@link AlbumIndexUpdater} once it was committed.
+     *
+     * @param albumId the id of the album.
+     * @param album the album as committed, empty if it was deleted.
+     */
+    void onAlbumChanged(Long albumId, Optional<AlbumSummary> album) {
+        if (loading) {
+            changedDuringLoad.add(albumId);
+        }
+        // Until the counts are loaded, the change is read with the other albums
+        if (isLoaded()) {
+            apply(albumId, album);
+        }
+    }
+
+    /**
+     * Get the timeline of the gallery.
+     *
+     * @return the number of albums per month of their effective date and per event.
+     */
+    public AlbumTimelineDTO getTimeline() {
+        ensureLoaded();
+        synchronized (this) {
+            if (timeline == null) {
+                List<AlbumTimelineDTO.MonthCount> months = new ArrayList<>(monthCounts.size());
+                monthCounts.forEach((month, count) -> months.add(new AlbumTimelineDTO.MonthCount(month.getYear(), month.getMonthValue(), count)));
+                List<AlbumTimelineDTO.EventCount> events = new ArrayList<>(eventCounts.size());
+                eventCounts.forEach((event, count) -> events.add(new AlbumTimelineDTO.EventCount(event, count)));
+                timeline = new AlbumTimelineDTO(buckets.size(), List.copyOf(months), List.copyOf(events));
+            }
+            return timeline;
+        }
+    }
+
+    /**
+     * Get the version of the timeline, which changes with its counts. Read it before the timeline, so the timeline is
+     * never labelled with a version newer than its counts.
+     *
+     * @return the current version of the timeline.
+     */
+    public AlbumCollectionVersion getCurrentVersion() {
+        ensureLoaded();
+        synchronized (this) {
+            return version;
+        }
+    }
+
+    /**
+     * Compute the counts again from the database.
+     */
+    public void load() {
+        synchronized (loadLock) {
+            LOG.debug("Loading the album timeline");
+            changedDuringLoad.clear();
+            loading = true;
+            Map<Long, Bucket> loaded = new HashMap<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<AlbumSummary> albums = albumRepository.streamAllSummaries()) {
+                        albums.forEach(album -> loaded.put(album.id(), Bucket.of(album)));
+                    }
+                });
+            } finally {
+                loading = false;
+            }
+            synchronized (this) {
+                buckets = new HashMap<>();
+                monthCounts.clear();
+                eventCounts.clear();
+                loaded.forEach(this::move);
+                changed();
+            }
+            changedDuringLoad.forEach(this::reload);
+            changedDuringLoad.clear();
+            LOG.info("Loaded the album timeline of {} albums", loaded.size());
+        }
+    }
+
+    /**
+     * Compare the buckets of the albums with the database, and repair the differences.
+     *
+     * @return the number of albums which were missing, outdated or deleted in the timeline.
+     */
+    public int checkConsistency() {
+        ensureLoaded();
+        Map<Long, Bucket> unseen;
+        synchronized (this) {
+            unseen = new HashMap<>(buckets);
+        }
+        List<Long> differences = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AlbumSummary> albums = albumRepository.streamAllSummaries()) {
+                albums.forEach(album -> {
+                    if (!Bucket.of(album).equals(unseen.remove(album.id()))) {
+                        differences.add(album.id());
+                    }
+                });
+            }
+        });
+        differences.addAll(unseen.keySet());
+        if (!differences.isEmpty()) {
+            LOG.warn("The album timeline differed from the database for {} albums, reloading them", differences.size());
+            differences.forEach(this::reload);
+        }
+        return differences.size();
+    }
+
+    @Scheduled(cron = "${application.album-timeline.consistency-check-cron:0 10 * * * ?}")
+    public void scheduledConsistencyCheck() {
+        checkConsistency();
+    }
+
+    private void ensureLoaded() {
+        if (!isLoaded()) {
+            synchronized (loadLock) {
+                if (!isLoaded()) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private synchronized boolean isLoaded() {
+        return buckets != null;
+    }
+
+    private void reload(Long albumId) {
+        apply(albumId, albumRepository.findSummaryById(albumId));
+    }
+
+    private void apply(Long albumId, Optional<AlbumSummary> album) {
+        synchronized (this) {
+            if (move(albumId, album.map(Bucket::of).orElse(null))) {
+                changed();
+            }
+        }
+    }
+
+    /**
+     * Move an album from its previous buckets to new ones. Must be called under the lock of the service.
+     *
+     * @return whether the counts changed.
+     */
+    private boolean move(Long albumId, Bucket bucket) {
+        Bucket previous = bucket != null ? buckets.put(albumId, bucket) : buckets.remove(albumId);
+        if (bucket != null && bucket.equals(previous)) {
+            return false;
+        }
+        if (previous != null) {
+            monthCounts.computeIfPresent(previous.month(), (month, count) -> count > 1 ? count - 1 : null);
+            eventCounts.computeIfPresent(previous.event(), (event, count) -> count > 1 ? count - 1 : null);
+        }
+        if (bucket != null) {
+            monthCounts.merge(bucket.month(), 1L, Long::sum);
+            eventCounts.merge(bucket.event(), 1L, Long::sum);
+        }
+        return previous != null || bucket != null;
+    }
+
+    /**
+     * Must be called under the lock of the service.
+     */
+    private void changed() {
+        timeline = null;
+        version = new AlbumCollectionVersion(instance, version.number() + 1, now());
+    }
+
+    private static Instant now() {
+        // Last-Modified only has a precision of one second
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private record Bucket(YearMonth month, String event) {
+        static Bucket of(AlbumSummary album) {
+            return new Bucket(YearMonth.from(album.effectiveDate().atOffset(ZoneOffset.UTC)), album.event());
+        }
+    }
+}
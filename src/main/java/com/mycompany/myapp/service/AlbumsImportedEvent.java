@@ -0,0 +1,35 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Album;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Published once for each chunk of albums created by {@link AlbumImportService}, instead of an
+ * {@link AlbumChangedEvent} per album, so the listeners handle the chunk as a batch.
+ *
+ * @param albumIds the ids of the created albums.
+ * @param ownerIds the ids of the users owning them.
+ * @param thumbnailAlbumIds the ids of the created albums which have a thumbnail.
+ */
+public record AlbumsImportedEvent(List<Long> albumIds, Set<Long> ownerIds, List<Long> thumbnailAlbumIds) {
+    /**
+     * @param albums the albums, as saved.
+     * @return the event of their creation.
+     */
+    static AlbumsImportedEvent of(List<Album> albums) {
+        Set<Long> ownerIds = new HashSet<>();
+        for (Album album : albums) {
+            if (album.getUser() != null && album.getUser().getId() != null) {
+                ownerIds.add(album.getUser().getId());
+            }
+        }
+        return new AlbumsImportedEvent(
+            albums.stream().map(Album::getId).toList(),
+            Set.copyOf(ownerIds),
+            albums.stream().filter(album -> album.getThumbnail() != null).map(Album::getId).filter(Objects::nonNull).toList()
+        );
+    }
+}
@@ -0,0 +1,211 @@
+package com.mycompany.myapp.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Radix tree of event names, with the number of albums of each event.
+ * <p>
+ * The names are looked up case-insensitively: they are stored under their lower case form, and the spellings sharing
+ * a key are kept apart, so near-duplicates such as "Summer" and "summer" are both suggested. Chains of nodes with a
+ * single child are merged into one node, so the tree has at most two nodes per event. Not thread-safe.
+ */
+final class EventTrie {
+
+    private static final Comparator<Completion> MOST_USED = Comparator.comparingLong(Completion::albumCount)
+        .reversed()
+        .thenComparing(Completion::event);
+
+    private final Node root = new Node("");
+
+    private int size;
+
+    /**
+     * @return the number of distinct event names.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Count one more album for an event.
+     */
+    void add(String event) {
+        String key = key(event);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.putChild(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                // Split the child where the key departs from its label
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.putChild(child);
+                node.putChild(split);
+                child = split;
+            }
+            node = child;
+            position += common;
+        }
+        if (node.counts == null) {
+            node.counts = new HashMap<>(2);
+        }
+        if (node.counts.merge(event, 1L, Long::sum) == 1L) {
+            size++;
+        }
+    }
+
+    /**
+     * Count one less album for an event, which is removed with its last album.
+     */
+    void remove(String event) {
+        String key = key(event);
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return;
+            }
+            path.push(node);
+            node = child;
+            position += child.label.length();
+        }
+        if (node.counts == null || !node.counts.containsKey(event)) {
+            return;
+        }
+        if (node.counts.computeIfPresent(event, (e, count) -> count > 1 ? count - 1 : null) != null) {
+            return;
+        }
+        size--;
+        if (node.counts.isEmpty()) {
+            node.counts = null;
+        }
+        // Remove the nodes left without events, and merge the ones left with a single child
+        while (!path.isEmpty() && node.counts == null && node.childCount() <= 1) {
+            Node parent = path.pop();
+            if (node.childCount() == 0) {
+                parent.removeChild(node);
+            } else {
+                Node child = node.onlyChild();
+                child.label = node.label + child.label;
+                parent.putChild(child);
+            }
+            node = parent;
+        }
+    }
+
+    /**
+     * Get the events whose name starts with a prefix, ignoring case.
+     *
+     * @param prefix the prefix, empty to get all the events.
+     * @param limit the maximum number of events.
+     * @return the events, the ones with the most albums first.
+     */
+    List<Completion> complete(String prefix, int limit) {
+        String key = key(prefix);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            // The prefix may end inside the label of the child
+            String rest = key.substring(position);
+            if (rest.length() <= child.label.length() ? !child.label.startsWith(rest) : !rest.startsWith(child.label)) {
+                return List.of();
+            }
+            node = child;
+            position += child.label.length();
+        }
+        List<Completion> completions = new ArrayList<>();
+        collect(node, completions);
+        completions.sort(MOST_USED);
+        return completions.size() > limit ? List.copyOf(completions.subList(0, limit)) : completions;
+    }
+
+    private static void collect(Node node, List<Completion> completions) {
+        if (node.counts != null) {
+            node.counts.forEach((event, count) -> completions.add(new Completion(event, count)));
+        }
+        if (node.children != null) {
+            for (Node child : node.children.values()) {
+                collect(child, completions);
+            }
+        }
+    }
+
+    private static String key(String event) {
+        return event.toLowerCase(Locale.ROOT);
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * An event and its number of albums.
+     */
+    record Completion(String event, long albumCount) {}
+
+    private static final class Node {
+
+        private String label;
+
+        // Allocated with the first child or event, as most nodes are leaves holding one event
+        private TreeMap<Character, Node> children;
+
+        private Map<String, Long> counts;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            return children != null ? children.get(first) : null;
+        }
+
+        void putChild(Node child) {
+            if (children == null) {
+                children = new TreeMap<>();
+            }
+            children.put(child.label.charAt(0), child);
+        }
+
+        void removeChild(Node child) {
+            children.remove(child.label.charAt(0));
+            if (children.isEmpty()) {
+                children = null;
+            }
+        }
+
+        int childCount() {
+            return children != null ? children.size() : 0;
+        }
+
+        Node onlyChild() {
+            return children.firstEntry().getValue();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of the last album returned by a gallery slice, used as the seek key of the next slice.
+ * <p>
+ * For {@link GallerySortType#EVENT} the position is the {@code (event, name, id)} tuple, for
+ * {@link GallerySortType#DATE} it is the {@code (effectiveDate, id)} tuple. The position is handed to
+ * clients as an opaque URL-safe token.
+ * <p>
+ * The token also tells which {@link Source} the slice was read from. The {@link GalleryIndex} compares names and
+ * events with {@link String#compareTo(String)} and the database with its collation, so a position is only meaningful
+ * in the ordering of the source it was taken from.
+ */
+final class GalleryCursor {
+
+    private static final byte VERSION = 2;
+
+    /**
+     * The read model a slice is read from.
+     */
+    enum Source {
+        DATABASE,
+        INDEX,
+    }
+
+    private final GallerySortType sortType;
+
+    private final Source source;
+
+    private final String event;
+
+    private final String name;
+
+    private final Instant effectiveDate;
+
+    private final long id;
+
+    private GalleryCursor(GallerySortType sortType, Source source, String event, String name, Instant effectiveDate, long id) {
+        this.sortType = sortType;
+        this.source = source;
+        this.event = event;
+        this.name = name;
+        this.effectiveDate = effectiveDate;
+        this.id = id;
+    }
+
+    static GalleryCursor afterEvent(String event, String name, long id) {
+        return afterEvent(Source.DATABASE, event, name, id);
+    }
+
+    static GalleryCursor afterEvent(Source source, String event, String name, long id) {
+        return new GalleryCursor(GallerySortType.EVENT, source, event, Objects.requireNonNull(name), null, id);
+    }
+
+    static GalleryCursor afterDate(Instant effectiveDate, long id) {
+        return afterDate(Source.DATABASE, effectiveDate, id);
+    }
+
+    static GalleryCursor afterDate(Source source, Instant effectiveDate, long id) {
+        return new GalleryCursor(GallerySortType.DATE, source, null, null, Objects.requireNonNull(effectiveDate), id);
+    }
+
+    /**
+     * @param sortType the gallery ordering.
+     * @param album the album.
+     * @return the position of the album in the gallery read from the database.
+     */
+    static GalleryCursor after(GallerySortType sortType, AlbumSummary album) {
+        return after(sortType, Source.DATABASE, album);
+    }
+
+    /**
+     * @param sortType the gallery ordering.
+     * @param source the read model the album was read from.
+     * @param album the album.
+     * @return the position of the album in the gallery.
+     */
+    static GalleryCursor after(GallerySortType sortType, Source source, AlbumSummary album) {
+        if (sortType == GallerySortType.DATE) {
+            return afterDate(source, album.effectiveDate(), album.id());
+        }
+        return afterEvent(source, album.event(), album.name(), album.id());
+    }
+
+    GallerySortType getSortType() {
+        return sortType;
+    }
+
+    Source getSource() {
+        return source;
+    }
+
+    String getEvent() {
+        return event;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Instant getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(sortType.ordinal());
+            out.writeByte(source.ordinal());
+            if (sortType == GallerySortType.EVENT) {
+                out.writeBoolean(event != null);
+                if (event != null) {
+                    out.writeUTF(event);
+                }
+                out.writeUTF(name);
+            } else {
+                out.writeLong(effectiveDate.getEpochSecond());
+                out.writeInt(effectiveDate.getNano());
+            }
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}.
+     *
+     * @param token the token sent back by the client.
+     * @param expectedSortType the ordering of the requested slice.
+     * @return the decoded cursor.
+     * @throws InvalidGalleryCursorException if the token is malformed or was issued for another ordering.
+     */
+    static GalleryCursor decode(String token, GallerySortType expectedSortType) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new InvalidGalleryCursorException();
+            }
+            int ordinal = in.readUnsignedByte();
+            if (ordinal != expectedSortType.ordinal()) {
+                throw new InvalidGalleryCursorException();
+            }
+            int sourceOrdinal = in.readUnsignedByte();
+            if (sourceOrdinal >= Source.values().length) {
+                throw new InvalidGalleryCursorException();
+            }
+            Source source = Source.values()[sourceOrdinal];
+            GalleryCursor cursor;
+            if (expectedSortType == GallerySortType.EVENT) {
+                String event = in.readBoolean() ? in.readUTF() : null;
+                String name = in.readUTF();
+                cursor = afterEvent(source, event, name, in.readLong());
+            } else {
+                Instant effectiveDate = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                cursor = afterDate(source, effectiveDate, in.readLong());
+            }
+            if (in.available() > 0) {
+                throw new InvalidGalleryCursorException();
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw new InvalidGalleryCursorException();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.myapp.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Event of the last group returned by a page of gallery groups, used as the seek key of the next page.
+ * <p>
+ * The albums without an event form the last group, so the key is always an event. The key is handed to clients as
+ * an opaque URL-safe token.
+ */
+final class GalleryGroupCursor {
+
+    private static final byte VERSION = 1;
+
+    // Distinguishes group tokens from the album tokens of GalleryCursor
+    private static final byte KIND = 'G';
+
+    private final String event;
+
+    private GalleryGroupCursor(String event) {
+        this.event = event;
+    }
+
+    static GalleryGroupCursor afterEvent(String event) {
+        return new GalleryGroupCursor(Objects.requireNonNull(event));
+    }
+
+    String getEvent() {
+        return event;
+    }
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(KIND);
+            out.writeUTF(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}.
+     *
+     * @param token the token sent back by the client.
+     * @return the decoded cursor.
+     * @throws InvalidGalleryCursorException if the token is malformed.
+     */
+    static GalleryGroupCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION || in.readByte() != KIND) {
+                throw new InvalidGalleryCursorException();
+            }
+            GalleryGroupCursor cursor = afterEvent(in.readUTF());
+            if (in.available() > 0) {
+                throw new InvalidGalleryCursorException();
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidGalleryCursorException();
+        }
+    }
+}
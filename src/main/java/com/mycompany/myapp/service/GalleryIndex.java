@@ -0,0 +1,311 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory read model of the album gallery.
+ * <p>
+ * The summaries of all the albums are held in concurrent skip lists sorted like the gallery, so any slice is read
+ * without querying the database. The index is loaded once the application is ready, then kept up to date by
+ * reloading each album after a change to it is committed. It is eventually consistent: a scheduled check compares it
+ * with the database and repairs the differences.
+ * <p>
+ * Names and events are compared with {@link String#compareTo(String)}, which matches the ordering of the database
+ * only for a binary collation. Cursors therefore tell the {@link GalleryCursor.Source} their slice was read from.
+ */
+@Service
+public class GalleryIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GalleryIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final Comparator<EventKey> EVENT_ORDER = Comparator.comparing(
+        EventKey::event,
+        Comparator.nullsLast(Comparator.<String>naturalOrder())
+    )
+        .thenComparing(EventKey::name)
+        .thenComparingLong(EventKey::id);
+
+    private static final Comparator<DateKey> DATE_ORDER = Comparator.comparing(DateKey::effectiveDate)
+        .thenComparingLong(DateKey::id)
+        .reversed();
+
+    private final AlbumRepository albumRepository;
+
+    private final boolean enabled;
+
+    private final Object rebuildLock = new Object();
+
+    // Ids of the albums changed while the index is rebuilt, reloaded once the new entries are in place
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+
+    private volatile Entries entries;
+
+    public GalleryIndex(AlbumRepository albumRepository, ApplicationProperties applicationProperties) {
+        this.albumRepository = albumRepository;
+        this.enabled = applicationProperties.getGalleryIndex().isEnabled();
+    }
+
+    /**
+     * @return whether the gallery can be read from the index.
+     */
+    public boolean isReady() {
+        return entries != null;
+    }
+
+    /**
+     * @return the number of albums in the index.
+     */
+    public int size() {
+        Entries current = entries;
+        return current != null ? current.byId.size() : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                // The database may not be migrated yet: the gallery is read from it until the next consistency check
+                LOG.warn("Could not load the gallery index: {}", e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(event.albumId());
+        }
+        reload(event.albumId());
+    }
+
+    @TransactionalEventListener
+    public void onAlbumsImported(AlbumsImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.albumIds());
+        }
+        // Read with one query, as a chunk of an import holds hundreds of albums
+        List<AlbumSummary> summaries = albumRepository.findSummariesByIdIn(event.albumIds());
+        synchronized (this) {
+            Entries current = entries;
+            if (current != null) {
+                event.albumIds().forEach(current::remove);
+                summaries.forEach(current::put);
+            }
+        }
+    }
+
+    /**
+     * Load the index again from the database.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            LOG.debug("Loading the gallery index");
+            changedDuringRebuild.clear();
+            rebuilding = true;
+            try {
+                Entries loaded = new Entries();
+                forEachAlbum(loaded::put);
+                synchronized (this) {
+                    entries = loaded;
+                }
+            } finally {
+                rebuilding = false;
+            }
+            for (Long albumId : changedDuringRebuild) {
+                reload(albumId);
+            }
+            changedDuringRebuild.clear();
+            LOG.info("Loaded {} albums in the gallery index", size());
+        }
+    }
+
+    /**
+     * Compare the index with the database, and repair the differences.
+     *
+     * @return the number of albums which were missing, outdated or deleted in the index.
+     */
+    public int checkConsistency() {
+        Entries current = entries;
+        if (current == null) {
+            rebuild();
+            return 0;
+        }
+        Map<Long, AlbumSummary> unseen = new HashMap<>(current.byId);
+        List<Long> differences = new ArrayList<>();
+        forEachAlbum(summary -> {
+            if (!summary.equals(unseen.remove(summary.id()))) {
+                differences.add(summary.id());
+            }
+        });
+        differences.addAll(unseen.keySet());
+        if (!differences.isEmpty()) {
+            LOG.warn("The gallery index differed from the database for {} albums, reloading them", differences.size());
+            differences.forEach(this::reload);
+        }
+        return differences.size();
+    }
+
+    @Scheduled(cron = "${application.gallery-index.consistency-check-cron:0 0 * * * ?}")
+    public void scheduledConsistencyCheck() {
+        if (enabled) {
+            checkConsistency();
+        }
+    }
+
+    /**
+     * Get the albums following a position of the gallery by event, the albums without an event coming last.
+     *
+     * @param after the position of the last album of the previous slice, or {@code null} for the first slice.
+     * @param limit the maximum number of albums.
+     * @return the albums.
+     */
+    List<AlbumSummary> findByEvent(GalleryCursor after, int limit) {
+        ConcurrentNavigableMap<EventKey, AlbumSummary> byEvent = requireEntries().byEvent;
+        return first(after == null ? byEvent : byEvent.tailMap(EventKey.of(after), false), limit);
+    }
+
+    /**
+     * Get the albums of the same event which follow a position of the gallery by event.
+     *
+     * @param after the position of the last album of the previous slice.
+     * @param limit the maximum number of albums.
+     * @return the albums.
+     */
+    List<AlbumSummary> findInEvent(GalleryCursor after, int limit) {
+        return requireEntries()
+            .byEvent.tailMap(EventKey.of(after), false)
+            .values()
+            .stream()
+            .takeWhile(album -> Objects.equals(album.event(), after.getEvent()))
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Get the albums following a position of the gallery by date, the most recent first.
+     *
+     * @param after the position of the last album of the previous slice, or {@code null} for the first slice.
+     * @param limit the maximum number of albums.
+     * @return the albums.
+     */
+    List<AlbumSummary> findByDate(GalleryCursor after, int limit) {
+        ConcurrentNavigableMap<DateKey, AlbumSummary> byDate = requireEntries().byDate;
+        return first(after == null ? byDate : byDate.tailMap(new DateKey(after.getEffectiveDate(), after.getId()), false), limit);
+    }
+
+    private static List<AlbumSummary> first(ConcurrentNavigableMap<?, AlbumSummary> albums, int limit) {
+        return albums.values().stream().limit(limit).toList();
+    }
+
+    private Entries requireEntries() {
+        Entries current = entries;
+        if (current == null) {
+            throw new IllegalStateException("The gallery index is not loaded");
+        }
+        return current;
+    }
+
+    private void reload(Long albumId) {
+        Optional<AlbumSummary> summary = albumRepository.findSummaryById(albumId);
+        synchronized (this) {
+            Entries current = entries;
+            if (current != null) {
+                current.remove(albumId);
+                summary.ifPresent(current::put);
+            }
+        }
+    }
+
+    private void forEachAlbum(Consumer<AlbumSummary> action) {
+        PageRequest batch = PageRequest.ofSize(LOAD_BATCH_SIZE);
+        List<AlbumSummary> albums = albumRepository.findGalleryByDate(batch);
+        while (!albums.isEmpty()) {
+            albums.forEach(action);
+            if (albums.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            AlbumSummary last = albums.get(albums.size() - 1);
+            albums = albumRepository.findGalleryByDateBefore(last.effectiveDate(), last.id(), batch);
+        }
+    }
+
+    private record EventKey(String event, String name, long id) {
+        static EventKey of(GalleryCursor cursor) {
+            return new EventKey(cursor.getEvent(), cursor.getName(), cursor.getId());
+        }
+
+        static EventKey of(AlbumSummary summary) {
+            return new EventKey(summary.event(), summary.name(), summary.id());
+        }
+    }
+
+    private record DateKey(Instant effectiveDate, long id) {
+        static DateKey of(AlbumSummary summary) {
+            return new DateKey(summary.effectiveDate(), summary.id());
+        }
+    }
+
+    /**
+     * The summaries of the albums, by id and in the orders of the gallery. Updated under the lock of the index, so an
+     * album is removed from the sorted maps before it is added again: a reader may miss an album being updated, but
+     * never sees it twice.
+     */
+    private static final class Entries {
+
+        private final ConcurrentMap<Long, AlbumSummary> byId = new ConcurrentHashMap<>();
+
+        private final ConcurrentNavigableMap<EventKey, AlbumSummary> byEvent = new ConcurrentSkipListMap<>(EVENT_ORDER);
+
+        private final ConcurrentNavigableMap<DateKey, AlbumSummary> byDate = new ConcurrentSkipListMap<>(DATE_ORDER);
+
+        void put(AlbumSummary summary) {
+            byEvent.put(EventKey.of(summary), summary);
+            byDate.put(DateKey.of(summary), summary);
+            byId.put(summary.id(), summary);
+        }
+
+        void remove(Long albumId) {
+            AlbumSummary previous = byId.remove(albumId);
+            if (previous != null) {
+                byEvent.remove(EventKey.of(previous));
+                byDate.remove(DateKey.of(previous));
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Album;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.AlbumGalleryViewRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.hibernate.Session;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cache of the slices of the gallery read from {@code album_gallery_view}, by sort type, cursor and size.
+ * <p>
+ * Only the ids of the albums of a slice are cached. The albums themselves are loaded again each time the slice is
+ * served, from the second-level cache of Hibernate when they are there, so a cached slice shows the albums as last
+ * committed, and a slice holding an album deleted since is read again.
+ * <p>
+ * Once the gallery view row of an album changed by {@link AlbumService} is refreshed, the slices of an ordering are
+ * all invalidated if the position of the album in that ordering changed, as it is the database collation which tells
+ * the slices it moved into or out of; otherwise the ids of the slices are still right. The slices are keyed by a
+ * generation of their ordering, which the invalidation bumps, so no entry is looked up: the slices of the previous
+ * generations are no longer read, and expire from the cache. A slice read while its ordering is invalidated is not
+ * cached over the invalidation.
+ */
+@Service
+public class GallerySliceCache {
+
+    public static final String GETS_METER_NAME = "gallery.slice.cache.gets";
+
+    public static final String GETS_METER_RESULT_DIMENSION = "result";
+
+    private final AlbumGalleryViewRepository albumGalleryViewRepository;
+
+    private final CacheManager cacheManager;
+
+    private final EntityManager entityManager;
+
+    private final Map<GallerySortType, AtomicLong> generations = new EnumMap<>(GallerySortType.class);
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public GallerySliceCache(
+        AlbumGalleryViewRepository albumGalleryViewRepository,
+        CacheManager cacheManager,
+        EntityManager entityManager,
+        MeterRegistry registry
+    ) {
+        this.albumGalleryViewRepository = albumGalleryViewRepository;
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
+        for (GallerySortType sortType : GallerySortType.values()) {
+            generations.put(sortType, new AtomicLong());
+        }
+        this.hits = getsCounter("hit", "Gallery slices served from the cached ids of their albums.", registry);
+        this.misses = getsCounter("miss", "Gallery slices read from the gallery view.", registry);
+    }
+
+    private static Counter getsCounter(String result, String description, MeterRegistry registry) {
+        return Counter.builder(GETS_METER_NAME)
+            .baseUnit("slices")
+            .description(description)
+            .tag(GETS_METER_RESULT_DIMENSION, result)
+            .register(registry);
+    }
+
+    /**
+     * Get the albums of a slice of the gallery, from the cache if present.
+     *
+     * @param sortType the gallery ordering.
+     * @param after the position the slice starts after, or {@code null} for the first slice.
+     * @param limit the maximum number of albums.
+     * @param query the query of the albums of the slice in the gallery view, run if the slice is not cached.
+     * @return the albums, in the gallery order.
+     */
+    List<AlbumSummary> getAlbums(GallerySortType sortType, GalleryCursor after, int limit, Supplier<List<AlbumSummary>> query) {
+        Cache cache = cache();
+        AtomicLong generation = generations.get(sortType);
+        long readGeneration = generation.get();
+        SliceKey key = new SliceKey(sortType, readGeneration, after != null ? after.encode() : null, limit);
+        CachedSlice slice = cache.get(key, CachedSlice.class);
+        if (slice != null) {
+            List<AlbumSummary> albums = load(slice.ids());
+            if (albums.size() == slice.ids().size()) {
+                hits.increment();
+                return albums;
+            }
+            // An album was deleted and its gallery view row is not refreshed yet
+            cache.evict(key);
+        }
+        misses.increment();
+        List<AlbumSummary> albums = query.get();
+        cache.put(key, new CachedSlice(albums.stream().map(AlbumSummary::id).toList()));
+        if (generation.get() != readGeneration) {
+            // The ordering was invalidated meanwhile, the slice may be outdated
+            cache.evict(key);
+        }
+        return albums;
+    }
+
+    /**
+     * Invalidate the orderings the refresh of an album in the gallery view may have changed.
+     *
+     * @param albumId the id of the album, just refreshed in the gallery view.
+     * @param previous the gallery view row of the album before the refresh, empty if it was not in the view.
+     */
+    void onGalleryViewRefreshed(Long albumId, Optional<AlbumSummary> previous) {
+        Optional<AlbumSummary> album = albumGalleryViewRepository.findById(albumId);
+        for (GallerySortType sortType : GallerySortType.values()) {
+            if (!position(sortType, previous).equals(position(sortType, album))) {
+                generations.get(sortType).incrementAndGet();
+            }
+        }
+    }
+
+    private static Optional<String> position(GallerySortType sortType, Optional<AlbumSummary> album) {
+        return album.map(summary -> GalleryCursor.after(sortType, summary).encode());
+    }
+
+    /**
+     * Invalidate all the slices, once the gallery view is rebuilt or refreshed by batch.
+     */
+    void clear() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    private List<AlbumSummary> load(List<Long> ids) {
+        // Checks the persistence context and the second-level cache before selecting the missing albums by batch
+        List<Album> albums = entityManager.unwrap(Session.class).byMultipleIds(Album.class).multiLoad(ids);
+        List<AlbumSummary> summaries = new ArrayList<>(albums.size());
+        for (Album album : albums) {
+            if (album != null) {
+                summaries.add(toSummary(album));
+            }
+        }
+        return summaries;
+    }
+
+    private static AlbumSummary toSummary(Album album) {
+        User user = album.getUser();
+        return new AlbumSummary(
+            album.getId(),
+            album.getName(),
+            album.getEvent(),
+            album.getCreationDate(),
+            album.getOverrideDate(),
+            album.getThumbnailContentType(),
+            album.getThumbnailSize(),
+            album.getThumbnailHash(),
+            user != null ? user.getId() : null,
+            user != null ? user.getLogin() : null
+        );
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(AlbumGalleryViewRepository.GALLERY_SLICES_CACHE));
+    }
+
+    private record SliceKey(GallerySortType sortType, long generation, String after, int limit) {}
+
+    /**
+     * The ids of the albums of a slice.
+     *
+     * @param ids the ids of the albums, in the gallery order.
+     */
+    private record CachedSlice(List<Long> ids) {}
+}
@@ -0,0 +1,16 @@
+package com.mycompany.myapp.service;
+
+/**
+ * The orderings supported by the album gallery.
+ */
+public enum GallerySortType {
+    /**
+     * Albums grouped by event name, albums without an event last, then by album name.
+     */
+    EVENT,
+
+    /**
+     * Albums ordered by their effective date (override date if present, creation date otherwise), newest first.
+     */
+    DATE,
+}
@@ -0,0 +1,10 @@
+package com.mycompany.myapp.service;
+
+public class InvalidGalleryCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidGalleryCursorException() {
+        super("Invalid gallery cursor!");
+    }
+}
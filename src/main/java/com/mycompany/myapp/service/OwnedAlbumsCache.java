@@ -0,0 +1,87 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache of the first albums of each owner, the most recent first: the slice "my albums" opens on.
+ * <p>
+ * The entry of an owner is evicted once a change to one of their albums is committed, including an album given to or
+ * taken from them. Each eviction bumps a generation of the owner, so a slice read while a change is committed is not
+ * cached over the eviction.
+ */
+@Service
+public class OwnedAlbumsCache {
+
+    /**
+     * The number of albums cached per owner: the largest slice, and one more to know whether another slice follows.
+     */
+    static final int CACHED_ALBUMS = 201;
+
+    private final AlbumRepository albumRepository;
+
+    private final CacheManager cacheManager;
+
+    private final ConcurrentMap<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public OwnedAlbumsCache(AlbumRepository albumRepository, CacheManager cacheManager) {
+        this.albumRepository = albumRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the first albums of an owner, from the cache if present.
+     *
+     * @param ownerId the id of the owner.
+     * @return at most {@link #CACHED_ALBUMS} albums, the most recent first.
+     */
+    @SuppressWarnings("unchecked")
+    List<AlbumSummary> getFirstAlbums(Long ownerId) {
+        Cache cache = cache();
+        List<AlbumSummary> albums = cache.get(ownerId, List.class);
+        if (albums != null) {
+            return albums;
+        }
+        AtomicLong generation = generations.computeIfAbsent(ownerId, id -> new AtomicLong());
+        long readGeneration = generation.get();
+        albums = List.copyOf(albumRepository.findOwnedByDate(ownerId, PageRequest.ofSize(CACHED_ALBUMS)));
+        cache.put(ownerId, albums);
+        if (generation.get() != readGeneration) {
+            // A change was committed meanwhile, the albums may be outdated
+            cache.evict(ownerId);
+        }
+        return albums;
+    }
+
+    @TransactionalEventListener
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        evict(event.ownerIds());
+    }
+
+    @TransactionalEventListener
+    public void onAlbumsImported(AlbumsImportedEvent event) {
+        evict(event.ownerIds());
+    }
+
+    private void evict(Set<Long> ownerIds) {
+        for (Long ownerId : ownerIds) {
+            generations.computeIfAbsent(ownerId, id -> new AtomicLong()).incrementAndGet();
+            cache().evictIfPresent(ownerId);
+        }
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(AlbumRepository.ALBUMS_BY_OWNER_CACHE));
+    }
+}
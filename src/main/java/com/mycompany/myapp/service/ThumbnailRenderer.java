@@ -0,0 +1,153 @@
+package com.mycompany.myapp.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Derives the downscaled renditions of an album thumbnail.
+ * <p>
+ * The source image is decoded once, subsampled while decoding when it is much larger than the largest rendition,
+ * and each rendition is then downscaled from the previous, larger one.
+ */
+final class ThumbnailRenderer {
+
+    /**
+     * The length, in pixels, of the longest edge of each rendition, from the largest to the smallest.
+     */
+    static final int[] RENDITION_SIZES = { 1024, 256, 64 };
+
+    // Refuse to decode images which would not fit in a reasonable amount of memory
+    private static final long MAX_SOURCE_PIXELS = 64L * 1024 * 1024;
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    /**
+     * An encoded rendition.
+     *
+     * @param size the length, in pixels, of the longest edge of the rendition.
+     * @param contentType the media type of the rendition.
+     * @param data the encoded rendition.
+     */
+    record Rendition(int size, String contentType, byte[] data) {}
+
+    private ThumbnailRenderer() {}
+
+    /**
+     * Render the renditions of an image.
+     * <p>
+     * No rendition is produced for sizes larger than the image itself: the image is better served as is.
+     *
+     * @param source the encoded image.
+     * @return the encoded renditions, from the largest to the smallest, or an empty list if the source is not a
+     * supported image.
+     * @throws IOException if the image cannot be read.
+     */
+    static List<Rendition> render(InputStream source) throws IOException {
+        BufferedImage image = decode(source);
+        if (image == null) {
+            return Collections.emptyList();
+        }
+        List<Rendition> renditions = new ArrayList<>();
+        for (int size : RENDITION_SIZES) {
+            if (size >= Math.max(image.getWidth(), image.getHeight())) {
+                continue;
+            }
+            image = downscale(image, size);
+            boolean alpha = image.getColorModel().hasAlpha();
+            renditions.add(alpha ? new Rendition(size, "image/png", encodePng(image)) : new Rendition(size, "image/jpeg", encodeJpeg(image)));
+        }
+        return renditions;
+    }
+
+    private static BufferedImage decode(InputStream source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image of " + width + "x" + height + " pixels is too large to be decoded");
+                }
+                // Keep twice the resolution of the largest rendition, so the final downscale is still smooth
+                int subsampling = Math.max(1, Math.max(width, height) / (2 * RENDITION_SIZES[0]));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscale an image so its longest edge is {@code size} pixels long, halving it step by step to avoid the
+     * aliasing of a single bilinear pass.
+     */
+    static BufferedImage downscale(BufferedImage image, int size) {
+        double ratio = (double) size / Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
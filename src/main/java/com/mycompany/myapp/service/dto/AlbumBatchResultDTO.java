@@ -0,0 +1,89 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The outcome of a batch operation on one album, with the HTTP status the same operation on the album alone would
+ * have had.
+ */
+public class AlbumBatchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int OK = 200;
+
+    private static final int NO_CONTENT = 204;
+
+    private static final int BAD_REQUEST = 400;
+
+    private static final int NOT_FOUND = 404;
+
+    private static final int PRECONDITION_FAILED = 412;
+
+    private final Long id;
+
+    private final int status;
+
+    private final AlbumDTO album;
+
+    private final String message;
+
+    private AlbumBatchResultDTO(Long id, int status, AlbumDTO album, String message) {
+        this.id = id;
+        this.status = status;
+        this.album = album;
+        this.message = message;
+    }
+
+    public static AlbumBatchResultDTO ok(AlbumDTO album) {
+        return new AlbumBatchResultDTO(album.getId(), OK, album, null);
+    }
+
+    public static AlbumBatchResultDTO deleted(Long id) {
+        return new AlbumBatchResultDTO(id, NO_CONTENT, null, null);
+    }
+
+    public static AlbumBatchResultDTO invalid(Long id, String message) {
+        return new AlbumBatchResultDTO(id, BAD_REQUEST, null, message);
+    }
+
+    public static AlbumBatchResultDTO notFound(Long id) {
+        return new AlbumBatchResultDTO(id, NOT_FOUND, null, "Entity not found");
+    }
+
+    public static AlbumBatchResultDTO versionMismatch(Long id) {
+        return new AlbumBatchResultDTO(id, PRECONDITION_FAILED, null, "The album was modified since it was read");
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the album, for a successful read or update.
+     */
+    public AlbumDTO getAlbum() {
+        return album;
+    }
+
+    /**
+     * @return why the operation failed on this album.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlbumBatchResultDTO{" +
+            "id=" + getId() +
+            ", status=" + getStatus() +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,55 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The last change of an album in the change feed: the album as it is now, or a tombstone if it was deleted.
+ */
+public class AlbumChangeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long albumId;
+
+    private final boolean deleted;
+
+    private final AlbumSummaryDTO album;
+
+    private AlbumChangeDTO(Long albumId, boolean deleted, AlbumSummaryDTO album) {
+        this.albumId = albumId;
+        this.deleted = deleted;
+        this.album = album;
+    }
+
+    public static AlbumChangeDTO updated(AlbumSummaryDTO album) {
+        return new AlbumChangeDTO(album.getId(), false, album);
+    }
+
+    public static AlbumChangeDTO deleted(Long albumId) {
+        return new AlbumChangeDTO(albumId, true, null);
+    }
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return the album, absent if it was deleted.
+     */
+    public AlbumSummaryDTO getAlbum() {
+        return album;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlbumChangeDTO{" +
+            "albumId=" + getAlbumId() +
+            ", deleted=" + isDeleted() +
+            "}";
+    }
+}
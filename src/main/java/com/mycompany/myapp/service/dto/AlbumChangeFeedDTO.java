@@ -0,0 +1,55 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A page of the album change feed, with the token to read the following changes from.
+ */
+public class AlbumChangeFeedDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<AlbumChangeDTO> changes;
+
+    private final long token;
+
+    private final boolean more;
+
+    public AlbumChangeFeedDTO(List<AlbumChangeDTO> changes, long token, boolean more) {
+        this.changes = changes;
+        this.token = token;
+        this.more = more;
+    }
+
+    /**
+     * @return the albums changed since the requested token, each once, in the order of their last change.
+     */
+    public List<AlbumChangeDTO> getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return the token to send as {@code since} to read the following changes. Recent changes may be read again.
+     */
+    public long getToken() {
+        return token;
+    }
+
+    /**
+     * @return whether more changes can be read right away.
+     */
+    public boolean isMore() {
+        return more;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlbumChangeFeedDTO{" +
+            "changes=" + getChanges().size() +
+            ", token=" + getToken() +
+            ", more=" + isMore() +
+            "}";
+    }
+}
@@ -33,6 +33,8 @@ public class AlbumDTO implements Serializable {
 
     private UserDTO user;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -97,6 +99,14 @@ public class AlbumDTO implements Serializable {
         this.user = user;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -129,6 +139,7 @@ public class AlbumDTO implements Serializable {
             ", overrideDate='" + getOverrideDate() + "'" +
             ", thumbnail='" + getThumbnail() + "'" +
             ", user=" + getUser() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,37 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * An event of the albums, with its number of albums.
+ */
+public class AlbumEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String event;
+
+    private final long albumCount;
+
+    public AlbumEventDTO(String event, long albumCount) {
+        this.event = event;
+        this.albumCount = albumCount;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public long getAlbumCount() {
+        return albumCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlbumEventDTO{" +
+            "event='" + getEvent() + "'" +
+            ", albumCount=" + getAlbumCount() +
+            "}";
+    }
+}
@@ -0,0 +1,62 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a bulk import of albums: the number of albums imported, and the records which were rejected.
+ */
+public class AlbumImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long imported;
+
+    private long failed;
+
+    private final List<Failure> failures = new ArrayList<>();
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void addImported(long count) {
+        this.imported += count;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the first rejected records, at most {@code maxReportedFailures} of the {@link #getFailed()} ones.
+     */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public void addFailure(long line, String message, int maxReportedFailures) {
+        failed++;
+        if (failures.size() < maxReportedFailures) {
+            failures.add(new Failure(line, message));
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlbumImportResultDTO{" +
+            "imported=" + getImported() +
+            ", failed=" + getFailed() +
+            "}";
+    }
+
+    /**
+     * A rejected record.
+     *
+     * @param line the line of the record in the imported document, starting at 1.
+     * @param message why the record was rejected.
+     */
+    public record Failure(long line, String message) implements Serializable {}
+}
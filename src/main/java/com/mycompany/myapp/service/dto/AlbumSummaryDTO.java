@@ -0,0 +1,143 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for listing {@link com.mycompany.myapp.domain.Album} entities.
+ * <p>
+ * Unlike {@link AlbumDTO} it carries only the thumbnail metadata, never the thumbnail itself.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AlbumSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String name;
+
+    private String event;
+
+    private Instant creationDate;
+
+    private Instant overrideDate;
+
+    private String thumbnailContentType;
+
+    private Long thumbnailSize;
+
+    private String thumbnailHash;
+
+    private UserDTO user;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public void setEvent(String event) {
+        this.event = event;
+    }
+
+    public Instant getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(Instant creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public Instant getOverrideDate() {
+        return overrideDate;
+    }
+
+    public void setOverrideDate(Instant overrideDate) {
+        this.overrideDate = overrideDate;
+    }
+
+    public String getThumbnailContentType() {
+        return thumbnailContentType;
+    }
+
+    public void setThumbnailContentType(String thumbnailContentType) {
+        this.thumbnailContentType = thumbnailContentType;
+    }
+
+    public Long getThumbnailSize() {
+        return thumbnailSize;
+    }
+
+    public void setThumbnailSize(Long thumbnailSize) {
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    public String getThumbnailHash() {
+        return thumbnailHash;
+    }
+
+    public void setThumbnailHash(String thumbnailHash) {
+        this.thumbnailHash = thumbnailHash;
+    }
+
+    public UserDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserDTO user) {
+        this.user = user;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlbumSummaryDTO)) {
+            return false;
+        }
+
+        AlbumSummaryDTO albumSummaryDTO = (AlbumSummaryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, albumSummaryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlbumSummaryDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", event='" + getEvent() + "'" +
+            ", creationDate='" + getCreationDate() + "'" +
+            ", overrideDate='" + getOverrideDate() + "'" +
+            ", thumbnailContentType='" + getThumbnailContentType() + "'" +
+            ", thumbnailSize=" + getThumbnailSize() +
+            ", thumbnailHash='" + getThumbnailHash() + "'" +
+            ", user=" + getUser() +
+            "}";
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The number of albums per month of their effective date and per event, to navigate the gallery without listing it.
+ */
+public class AlbumTimelineDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long total;
+
+    private final List<MonthCount> months;
+
+    private final List<EventCount> events;
+
+    public AlbumTimelineDTO(long total, List<MonthCount> months, List<EventCount> events) {
+        this.total = total;
+        this.months = months;
+        this.events = events;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the months with albums, the oldest first.
+     */
+    public List<MonthCount> getMonths() {
+        return months;
+    }
+
+    /**
+     * @return the events with albums, ordered by event, the albums without an event coming last.
+     */
+    public List<EventCount> getEvents() {
+        return events;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlbumTimelineDTO{" +
+            "total=" + getTotal() +
+            ", months=" + months.size() +
+            ", events=" + events.size() +
+            "}";
+    }
+
+    /**
+     * The number of albums of a month, in UTC.
+     *
+     * @param year the year.
+     * @param month the month of the year, from 1 to 12.
+     * @param count the number of albums whose effective date is in the month.
+     */
+    public record MonthCount(int year, int month, long count) implements Serializable {}
+
+    /**
+     * The number of albums of an event.
+     *
+     * @param event the event, or {@code null} for the albums without an event.
+     * @param count the number of albums of the event.
+     */
+    public record EventCount(String event, long count) implements Serializable {}
+}
@@ -0,0 +1,68 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A group of the gallery by event, with its first albums.
+ */
+public class GalleryGroupDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String event;
+
+    private final long albumCount;
+
+    private final List<AlbumSummaryDTO> albums;
+
+    private final String nextCursor;
+
+    public GalleryGroupDTO(String event, long albumCount, List<AlbumSummaryDTO> albums, String nextCursor) {
+        this.event = event;
+        this.albumCount = albumCount;
+        this.albums = albums;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the event of the albums of the group, or {@code null} for the uncategorized group.
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * @return whether this is the group of the albums without an event, which always comes last.
+     */
+    public boolean isUncategorized() {
+        return event == null;
+    }
+
+    public long getAlbumCount() {
+        return albumCount;
+    }
+
+    public List<AlbumSummaryDTO> getAlbums() {
+        return albums;
+    }
+
+    /**
+     * @return the token to send back to fetch the following albums of the group, or {@code null} if all of them are
+     * included.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GalleryGroupDTO{" +
+            "event='" + getEvent() + "'" +
+            ", albumCount=" + getAlbumCount() +
+            ", albums=" + albums.size() +
+            ", nextCursor='" + getNextCursor() + "'" +
+            "}";
+    }
+}
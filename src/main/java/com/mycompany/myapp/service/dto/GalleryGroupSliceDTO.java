@@ -0,0 +1,45 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A slice of the groups of the gallery by event, together with the continuation token of the next slice.
+ */
+public class GalleryGroupSliceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<GalleryGroupDTO> groups;
+
+    private final String nextCursor;
+
+    public GalleryGroupSliceDTO(List<GalleryGroupDTO> groups, String nextCursor) {
+        this.groups = groups;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<GalleryGroupDTO> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return the token to send back to fetch the following groups, or {@code null} if this is the last slice.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GalleryGroupSliceDTO{" +
+            "groups=" + groups.size() +
+            ", nextCursor='" + getNextCursor() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,45 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A slice of the album gallery, together with the continuation token of the next slice.
+ */
+public class GallerySliceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<AlbumSummaryDTO> albums;
+
+    private final String nextCursor;
+
+    public GallerySliceDTO(List<AlbumSummaryDTO> albums, String nextCursor) {
+        this.albums = albums;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<AlbumSummaryDTO> getAlbums() {
+        return albums;
+    }
+
+    /**
+     * @return the token to send back to fetch the following slice, or {@code null} if this is the last slice.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GallerySliceDTO{" +
+            "albums=" + albums.size() +
+            ", nextCursor='" + getNextCursor() + "'" +
+            "}";
+    }
+}
@@ -2,21 +2,51 @@ package com.mycompany.myapp.service.mapper;
 
 import com.mycompany.myapp.domain.Album;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.AlbumSummary;
 import com.mycompany.myapp.service.dto.AlbumDTO;
+import com.mycompany.myapp.service.dto.AlbumSummaryDTO;
 import com.mycompany.myapp.service.dto.UserDTO;
+import java.util.List;
 import org.mapstruct.*;
 
 /**
- * Mapper for the entity {@link Album} and its DTO {@link AlbumDTO}.
+ * Mapper for the entity {@link Album} and its DTOs {@link AlbumDTO} and {@link AlbumSummaryDTO}.
  */
 @Mapper(componentModel = "spring")
 public interface AlbumMapper extends EntityMapper<AlbumDTO, Album> {
     @Mapping(target = "user", source = "user", qualifiedByName = "userLogin")
     AlbumDTO toDto(Album s);
 
+    // The version of an album is only maintained by Hibernate: the one of a DTO is checked by the service
+    @Override
+    @Mapping(target = "version", ignore = true)
+    Album toEntity(AlbumDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Album entity, AlbumDTO dto);
+
     @Named("userLogin")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     @Mapping(target = "login", source = "login")
     UserDTO toDtoUserLogin(User user);
+
+    @Mapping(target = "user", source = ".", qualifiedByName = "summaryUser")
+    AlbumSummaryDTO toSummaryDto(AlbumSummary summary);
+
+    List<AlbumSummaryDTO> toSummaryDto(List<AlbumSummary> summaries);
+
+    @Named("summaryUser")
+    default UserDTO toSummaryUser(AlbumSummary summary) {
+        if (summary.userId() == null) {
+            return null;
+        }
+        UserDTO user = new UserDTO();
+        user.setId(summary.userId());
+        user.setLogin(summary.userLogin());
+        return user;
+    }
 }
@@ -1,24 +1,57 @@
 package com.mycompany.myapp.web.rest;
 
-import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.AlbumChangeFeedService;
+import com.mycompany.myapp.service.AlbumCollectionVersion;
+import com.mycompany.myapp.service.AlbumCollectionVersionService;
+import com.mycompany.myapp.service.AlbumEventIndex;
+import com.mycompany.myapp.service.AlbumExportFormat;
+import com.mycompany.myapp.service.AlbumExportService;
+import com.mycompany.myapp.service.AlbumImportService;
 import com.mycompany.myapp.service.AlbumService;
+import com.mycompany.myapp.service.AlbumTimelineService;
+import com.mycompany.myapp.service.GallerySortType;
+import com.mycompany.myapp.service.InvalidGalleryCursorException;
+import com.mycompany.myapp.service.dto.AlbumBatchResultDTO;
+import com.mycompany.myapp.service.dto.AlbumChangeFeedDTO;
 import com.mycompany.myapp.service.dto.AlbumDTO;
+import com.mycompany.myapp.service.dto.AlbumEventDTO;
+import com.mycompany.myapp.service.dto.AlbumImportResultDTO;
+import com.mycompany.myapp.service.dto.AlbumSummaryDTO;
+import com.mycompany.myapp.service.dto.AlbumTimelineDTO;
+import com.mycompany.myapp.service.dto.GalleryGroupDTO;
+import com.mycompany.myapp.service.dto.GalleryGroupSliceDTO;
+import com.mycompany.myapp.service.dto.GallerySliceDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,16 +68,51 @@ public class AlbumResource {
 
     private static final String ENTITY_NAME = "album";
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int GALLERY_MAX_SIZE = 200;
+
+    private static final int GALLERY_MAX_GROUPS = 100;
+
+    private static final int EVENTS_MAX_SIZE = 50;
+
+    private static final int BATCH_MAX_SIZE = 1000;
+
+    private static final int CHANGES_MAX_SIZE = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final AlbumService albumService;
 
-    private final AlbumRepository albumRepository;
+    private final AlbumCollectionVersionService albumCollectionVersionService;
+
+    private final AlbumImportService albumImportService;
+
+    private final AlbumExportService albumExportService;
+
+    private final AlbumTimelineService albumTimelineService;
+
+    private final AlbumEventIndex albumEventIndex;
 
-    public AlbumResource(AlbumService albumService, AlbumRepository albumRepository) {
+    private final AlbumChangeFeedService albumChangeFeedService;
+
+    public AlbumResource(
+        AlbumService albumService,
+        AlbumCollectionVersionService albumCollectionVersionService,
+        AlbumImportService albumImportService,
+        AlbumExportService albumExportService,
+        AlbumTimelineService albumTimelineService,
+        AlbumEventIndex albumEventIndex,
+        AlbumChangeFeedService albumChangeFeedService
+    ) {
         this.albumService = albumService;
-        this.albumRepository = albumRepository;
+        this.albumCollectionVersionService = albumCollectionVersionService;
+        this.albumImportService = albumImportService;
+        this.albumExportService = albumExportService;
+        this.albumTimelineService = albumTimelineService;
+        this.albumEventIndex = albumEventIndex;
+        this.albumChangeFeedService = albumChangeFeedService;
     }
 
     /**
@@ -63,92 +131,192 @@ public class AlbumResource {
         albumDTO = albumService.save(albumDTO);
         return ResponseEntity.created(new URI("/api/albums/" + albumDTO.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, albumDTO.getId().toString()))
+            .eTag(versionETag(albumDTO))
             .body(albumDTO);
     }
 
+    /**
+     * {@code POST  /albums/_import} : Import albums in bulk.
+     * <p>
+     * The body is streamed, so its size is not limited by memory. Each line is validated like the body of
+     * {@code POST /albums}; the rejected lines are reported and do not prevent the other albums from being imported.
+     *
+     * @param body the albums to create, as newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of imported albums and
+     * the rejected lines.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/_import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<AlbumImportResultDTO> importAlbums(InputStream body) throws IOException {
+        LOG.debug("REST request to import Albums");
+        return ResponseEntity.ok(albumImportService.importAlbums(body));
+    }
+
     /**
      * {@code PUT  /albums/:id} : Updates an existing album.
+     * <p>
+     * The update only applies to the version of the album given by the {@code If-Match} header, or else by the
+     * {@code version} of the body. Without either, the update applies to any version.
      *
      * @param id the id of the albumDTO to save.
      * @param albumDTO the albumDTO to update.
+     * @param ifMatch the {@code ETag} of the version of the album the update was made from.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated albumDTO,
      * or with status {@code 400 (Bad Request)} if the albumDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the album is no longer at the expected version,
      * or with status {@code 500 (Internal Server Error)} if the albumDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<AlbumDTO> updateAlbum(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody AlbumDTO albumDTO
+        @Valid @RequestBody AlbumDTO albumDTO,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to update Album : {}, {}", id, albumDTO);
-        if (albumDTO.getId() == null) {
-            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-        }
-        if (!Objects.equals(id, albumDTO.getId())) {
-            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
-        }
-
-        if (!albumRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        checkUpdateIds(id, albumDTO);
+        applyIfMatch(albumDTO, ifMatch);
 
-        albumDTO = albumService.update(albumDTO);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, albumDTO.getId().toString()))
-            .body(albumDTO);
+        return toUpdateResponse(() -> albumService.update(albumDTO));
     }
 
     /**
      * {@code PATCH  /albums/:id} : Partial updates given fields of an existing album, field will ignore if it is null
+     * <p>
+     * The update is conditional like {@link #updateAlbum(Long, AlbumDTO, String)}.
      *
      * @param id the id of the albumDTO to save.
      * @param albumDTO the albumDTO to update.
+     * @param ifMatch the {@code ETag} of the version of the album the update was made from.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated albumDTO,
      * or with status {@code 400 (Bad Request)} if the albumDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the albumDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the album is no longer at the expected version,
      * or with status {@code 500 (Internal Server Error)} if the albumDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<AlbumDTO> partialUpdateAlbum(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody AlbumDTO albumDTO
+        @NotNull @RequestBody AlbumDTO albumDTO,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Album partially : {}, {}", id, albumDTO);
+        checkUpdateIds(id, albumDTO);
+        applyIfMatch(albumDTO, ifMatch);
+
+        return toUpdateResponse(() -> albumService.partialUpdate(albumDTO));
+    }
+
+    /**
+     * {@code PATCH  /albums} : Partial updates several existing albums, each like {@code PATCH /albums/:id}.
+     * <p>
+     * The albums are updated in a single transaction. Each album is only updated if it is at the {@code version} of
+     * its DTO, when the DTO carries one.
+     *
+     * @param albumDTOs the albumDTOs to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome for each albumDTO,
+     * or with status {@code 400 (Bad Request)} if there are no albumDTOs or too many,
+     * or with status {@code 412 (Precondition Failed)} if an album was updated concurrently, in which case none is.
+     */
+    @PatchMapping(value = "", consumes = { "application/json", "application/merge-patch+json" })
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<AlbumBatchResultDTO>> partialUpdateAlbums(@NotNull @RequestBody List<AlbumDTO> albumDTOs) {
+        LOG.debug("REST request to partial update {} Albums", albumDTOs.size());
+        checkBatchSize(albumDTOs.size());
+        try {
+            return ResponseEntity.ok(albumService.partialUpdateAll(albumDTOs));
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedAlertException("An album was modified while the albums were updated", ENTITY_NAME);
+        }
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size < 1 || size > BATCH_MAX_SIZE) {
+            throw new BadRequestAlertException("Invalid batch size", ENTITY_NAME, "batchsizeinvalid");
+        }
+    }
+
+    private static void checkUpdateIds(Long id, AlbumDTO albumDTO) {
         if (albumDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
         if (!Objects.equals(id, albumDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+    }
 
-        if (!albumRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+    /**
+     * Take the expected version of an update from the {@code If-Match} header, which takes precedence over the body.
+     * <p>
+     * {@code *} matches any version. Any other value than the strong {@code ETag} of a version never matches, as
+     * required for {@code If-Match}, so the update is rejected.
+     */
+    private static void applyIfMatch(AlbumDTO albumDTO, String ifMatch) {
+        if (ifMatch == null) {
+            return;
+        }
+        String eTag = ifMatch.trim();
+        if ("*".equals(eTag)) {
+            albumDTO.setVersion(null);
+            return;
         }
+        if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            throw new PreconditionFailedAlertException("The album does not match If-Match", ENTITY_NAME);
+        }
+        try {
+            albumDTO.setVersion(Long.valueOf(eTag.substring(1, eTag.length() - 1)));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedAlertException("The album does not match If-Match", ENTITY_NAME);
+        }
+    }
 
-        Optional<AlbumDTO> result = albumService.partialUpdate(albumDTO);
+    private ResponseEntity<AlbumDTO> toUpdateResponse(Supplier<Optional<AlbumDTO>> update) {
+        AlbumDTO result;
+        try {
+            result = update.get().orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedAlertException("The album was modified since it was read", ENTITY_NAME);
+        }
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .eTag(versionETag(result))
+            .body(result);
+    }
+
+    private static HttpHeaders versionHeaders(AlbumDTO albumDTO) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(versionETag(albumDTO));
+        return headers;
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, albumDTO.getId().toString())
-        );
+    private static String versionETag(AlbumDTO albumDTO) {
+        return "\"" + albumDTO.getVersion() + "\"";
     }
 
     /**
      * {@code GET  /albums} : get all the albums.
+     * <p>
+     * The albums are listed without their thumbnail, which is only returned by {@code GET  /albums/:id}. The list
+     * supports conditional requests, see {@link #isCollectionNotModified(ServletWebRequest)}.
      *
      * @param pageable the pagination information.
-     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of albums in body.
+     * @param eagerload flag to eager load the owner login.
+     * @param webRequest the request, to check its preconditions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of album summaries in body,
+     * or with status {@code 304 (Not Modified)} if the client copy is up to date.
      */
     @GetMapping("")
-    public ResponseEntity<List<AlbumDTO>> getAllAlbums(
+    public ResponseEntity<List<AlbumSummaryDTO>> getAllAlbums(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        ServletWebRequest webRequest
     ) {
         LOG.debug("REST request to get a page of Albums");
-        Page<AlbumDTO> page;
+        if (isCollectionNotModified(webRequest)) {
+            return null;
+        }
+        Page<AlbumSummaryDTO> page;
         if (eagerload) {
             page = albumService.findAllWithEagerRelationships(pageable);
         } else {
@@ -158,6 +326,121 @@ public class AlbumResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /albums?ids=:ids} : get several albums by id.
+     * <p>
+     * The albums are read with one query, without their thumbnail.
+     *
+     * @param ids the ids of the albums.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the outcome for each distinct id in body,
+     * or with status {@code 400 (Bad Request)} if there are no ids or too many.
+     */
+    @GetMapping(value = "", params = "ids")
+    public ResponseEntity<List<AlbumBatchResultDTO>> getAlbums(@RequestParam(name = "ids") List<Long> ids) {
+        LOG.debug("REST request to get Albums : {}", ids);
+        checkBatchSize(ids.size());
+        return ResponseEntity.ok(albumService.findAllById(ids));
+    }
+
+    /**
+     * {@code GET  /albums/_search?query=:query} : search the albums by name and event.
+     * <p>
+     * An album matches when its name or its event contains every term of the query, ignoring case and accents. Terms
+     * shorter than three characters only match the start of a word. The albums are ranked by relevance.
+     *
+     * @param query the terms to search for.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of matching album summaries in body,
+     * or with status {@code 400 (Bad Request)} if the query is blank.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<AlbumSummaryDTO>> searchAlbums(
+        @RequestParam(name = "query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Albums for query {}", query);
+        if (query.isBlank()) {
+            throw new BadRequestAlertException("The search query is blank", ENTITY_NAME, "queryblank");
+        }
+        Page<AlbumSummaryDTO> page = albumService.search(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /albums/events?prefix=:prefix} : get the existing events starting with a prefix.
+     * <p>
+     * The events are matched ignoring case and served from memory, to suggest them while an album is edited.
+     *
+     * @param prefix the start of the event, absent to get the events with the most albums.
+     * @param size the maximum number of events to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the events with their number of albums in body,
+     * the ones with the most albums first, or with status {@code 400 (Bad Request)} if the size is not valid.
+     */
+    @GetMapping("/events")
+    public ResponseEntity<List<AlbumEventDTO>> getEvents(
+        @RequestParam(name = "prefix", required = false, defaultValue = "") String prefix,
+        @RequestParam(name = "size", required = false, defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to get the events of Albums starting with: {}", prefix);
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid events size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok(albumEventIndex.suggest(prefix, Math.min(size, EVENTS_MAX_SIZE)));
+    }
+
+    /**
+     * {@code GET  /albums/changes?since=:since} : get the albums created, updated or deleted since a token.
+     * <p>
+     * A client keeping a copy of the albums first gets a token without {@code since}, then reads the albums, then
+     * repeatedly reads the changes since the last token it received, for as long as {@code more} is set. Each changed
+     * album is reported once, as it is now, or as a tombstone if it was deleted. Changes may be reported again, so
+     * applying them must be idempotent.
+     *
+     * @param since the token returned by the previous call, absent to only get the current token.
+     * @param size the maximum number of changes to read.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the changes with the next token in body,
+     * or with status {@code 400 (Bad Request)} if the token or the size is not valid.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<AlbumChangeFeedDTO> getAlbumChanges(
+        @RequestParam(name = "since", required = false) Long since,
+        @RequestParam(name = "size", required = false, defaultValue = "100") int size
+    ) {
+        LOG.debug("REST request to get the changes of Albums since {}", since);
+        if (since != null && since < 0) {
+            throw new BadRequestAlertException("Invalid changes token", ENTITY_NAME, "sinceinvalid");
+        }
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid changes size", ENTITY_NAME, "sizeinvalid");
+        }
+        return ResponseEntity.ok(albumChangeFeedService.getChanges(since, Math.min(size, CHANGES_MAX_SIZE)));
+    }
+
+    /**
+     * {@code GET  /albums/export} : export all the albums, ordered by id.
+     * <p>
+     * The albums are written while they are read from the database, so the whole table is exported in a single
+     * request without being held in memory. The thumbnails are exported as their metadata only.
+     *
+     * @param format the format of the export, {@code NDJSON} (the default) or {@code CSV}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the albums, as an attachment, in body.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAlbums(
+        @RequestParam(name = "format", required = false, defaultValue = "NDJSON") AlbumExportFormat format
+    ) {
+        LOG.debug("REST request to export Albums as {}", format);
+        StreamingResponseBody body = output -> albumExportService.exportAlbums(format, output);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("albums." + format.getExtension()).build().toString()
+            )
+            .body(body);
+    }
+
     /**
      * {@code GET  /albums/:id} : get the "id" album.
      *
@@ -168,45 +451,237 @@ public class AlbumResource {
     public ResponseEntity<AlbumDTO> getAlbum(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Album : {}", id);
         Optional<AlbumDTO> albumDTO = albumService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(albumDTO);
+        return ResponseUtil.wrapOrNotFound(albumDTO, albumDTO.map(AlbumResource::versionHeaders).orElse(null));
+    }
+
+    /**
+     * {@code GET  /albums/:id/thumbnail} : get the thumbnail of the "id" album.
+     * <p>
+     * The thumbnail is streamed from the blob store. It is served with a strong ETag, so clients can revalidate it
+     * with {@code If-None-Match}, and supports {@code Range} requests.
+     *
+     * @param id the id of the album.
+     * @param size the length, in pixels, the image will be displayed at: the smallest rendition at least as large is
+     * returned, or the original thumbnail if there is none. Absent for the original thumbnail.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the thumbnail in body,
+     * or with status {@code 304 (Not Modified)} if the client copy is up to date,
+     * or with status {@code 206 (Partial Content)} for a range request,
+     * or with status {@code 400 (Bad Request)} if the size is not valid,
+     * or with status {@code 404 (Not Found)} if the album does not exist or has no thumbnail.
+     */
+    @GetMapping("/{id}/thumbnail")
+    public ResponseEntity<Resource> getAlbumThumbnail(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "size", required = false) Integer size
+    ) {
+        LOG.debug("REST request to get the thumbnail of Album : {} with size {}", id, size);
+        if (size != null && size < 1) {
+            throw new BadRequestAlertException("Invalid thumbnail size", ENTITY_NAME, "sizeinvalid");
+        }
+        return albumService
+            .findThumbnail(id, size)
+            .map(thumbnail -> {
+                ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(thumbnail.getContentType()))
+                    .cacheControl(CacheControl.noCache().cachePublic());
+                if (thumbnail.getHash() != null) {
+                    builder.eTag(thumbnail.getHash());
+                }
+                return builder.body(thumbnail.getContent());
+            })
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
-     * {@code GET  /albums/gallery} : get albums organized for gallery view.
+     * {@code GET  /albums/gallery} : get a slice of the albums organized for gallery view.
+     * <p>
+     * The gallery is paginated with a keyset cursor: when more albums follow, the response carries the continuation
+     * token in the {@code X-Next-Cursor} header and a {@code next} link, to be sent back as the {@code cursor} parameter.
+     * The gallery supports conditional requests, see {@link #isCollectionNotModified(ServletWebRequest)}.
      *
      * @param sortBy the sorting criteria (EVENT or DATE).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of albums organized for gallery.
+     * @param cursor the continuation token of the previous slice, absent for the first slice.
+     * @param size the maximum number of albums to return.
+     * @param webRequest the request, to check its preconditions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the slice of albums organized for gallery,
+     * or with status {@code 304 (Not Modified)} if the client copy is up to date,
+     * or with status {@code 400 (Bad Request)} if the cursor or the size is not valid.
      */
     @GetMapping("/gallery")
-    public ResponseEntity<List<AlbumDTO>> getAlbumsForGallery(
-        @RequestParam(name = "sortBy", required = false, defaultValue = "EVENT") String sortBy
+    public ResponseEntity<List<AlbumSummaryDTO>> getAlbumsForGallery(
+        @RequestParam(name = "sortBy", required = false, defaultValue = "EVENT") GallerySortType sortBy,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", required = false, defaultValue = "50") int size,
+        ServletWebRequest webRequest
     ) {
-        LOG.debug("REST request to get Albums for gallery view with sortBy: {}", sortBy);
-
-        // Create pageable with large size for gallery view and appropriate sorting
-        Pageable pageable;
-        if ("DATE".equals(sortBy)) {
-            pageable = org.springframework.data.domain.PageRequest.of(
-                0,
-                1000,
-                org.springframework.data.domain.Sort.by(
-                    org.springframework.data.domain.Sort.Order.desc("overrideDate").nullsLast(),
-                    org.springframework.data.domain.Sort.Order.desc("creationDate")
-                )
-            );
-        } else {
-            pageable = org.springframework.data.domain.PageRequest.of(
-                0,
-                1000,
-                org.springframework.data.domain.Sort.by(
-                    org.springframework.data.domain.Sort.Order.asc("event").nullsLast(),
-                    org.springframework.data.domain.Sort.Order.asc("name")
-                )
-            );
+        LOG.debug("REST request to get Albums for gallery view with sortBy: {}, cursor: {}", sortBy, cursor);
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid gallery size", ENTITY_NAME, "sizeinvalid");
+        }
+        if (isCollectionNotModified(webRequest)) {
+            return null;
+        }
+
+        GallerySliceDTO slice;
+        try {
+            slice = albumService.findGallerySlice(sortBy, cursor, Math.min(size, GALLERY_MAX_SIZE));
+        } catch (InvalidGalleryCursorException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+        }
+
+        return ResponseEntity.ok().headers(nextCursorHeaders(slice.getNextCursor())).body(slice.getAlbums());
+    }
+
+    /**
+     * {@code GET  /albums/gallery/groups} : get a slice of the groups of the gallery by event.
+     * <p>
+     * Each group comes with its number of albums, its first albums and, if it has more albums, the cursor to fetch
+     * them from {@code GET /albums/gallery/groups/albums}. The albums without an event form the last group.
+     *
+     * @param cursor the continuation token of the previous slice, absent for the first slice.
+     * @param size the maximum number of groups to return.
+     * @param albumsPerGroup the maximum number of albums to return with each group.
+     * @param webRequest the request, to check its preconditions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the slice of groups in body,
+     * or with status {@code 304 (Not Modified)} if the client copy is up to date,
+     * or with status {@code 400 (Bad Request)} if the cursor or a size is not valid.
+     */
+    @GetMapping("/gallery/groups")
+    public ResponseEntity<List<GalleryGroupDTO>> getGalleryGroups(
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", required = false, defaultValue = "20") int size,
+        @RequestParam(name = "albumsPerGroup", required = false, defaultValue = "8") int albumsPerGroup,
+        ServletWebRequest webRequest
+    ) {
+        LOG.debug("REST request to get gallery groups of Albums with cursor: {}", cursor);
+        if (size < 1 || albumsPerGroup < 1) {
+            throw new BadRequestAlertException("Invalid gallery size", ENTITY_NAME, "sizeinvalid");
+        }
+        if (isCollectionNotModified(webRequest)) {
+            return null;
+        }
+
+        GalleryGroupSliceDTO slice;
+        try {
+            slice = albumService.findGalleryGroups(cursor, Math.min(size, GALLERY_MAX_GROUPS), Math.min(albumsPerGroup, GALLERY_MAX_SIZE));
+        } catch (InvalidGalleryCursorException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+        }
+        return ResponseEntity.ok().headers(nextCursorHeaders(slice.getNextCursor())).body(slice.getGroups());
+    }
+
+    /**
+     * {@code GET  /albums/gallery/groups/albums} : get the following albums of a gallery group.
+     *
+     * @param cursor the continuation token of the group.
+     * @param size the maximum number of albums to return.
+     * @param webRequest the request, to check its preconditions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the albums in body,
+     * or with status {@code 304 (Not Modified)} if the client copy is up to date,
+     * or with status {@code 400 (Bad Request)} if the cursor or the size is not valid.
+     */
+    @GetMapping("/gallery/groups/albums")
+    public ResponseEntity<List<AlbumSummaryDTO>> getGalleryGroupAlbums(
+        @RequestParam(name = "cursor") String cursor,
+        @RequestParam(name = "size", required = false, defaultValue = "50") int size,
+        ServletWebRequest webRequest
+    ) {
+        LOG.debug("REST request to get the albums of a gallery group with cursor: {}", cursor);
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid gallery size", ENTITY_NAME, "sizeinvalid");
+        }
+        if (isCollectionNotModified(webRequest)) {
+            return null;
+        }
+
+        GallerySliceDTO slice;
+        try {
+            slice = albumService.findGalleryGroupAlbums(cursor, Math.min(size, GALLERY_MAX_SIZE));
+        } catch (InvalidGalleryCursorException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+        }
+        return ResponseEntity.ok().headers(nextCursorHeaders(slice.getNextCursor())).body(slice.getAlbums());
+    }
+
+    /**
+     * {@code GET  /albums/gallery/timeline} : get the number of albums per month and per event.
+     * <p>
+     * The timeline is served from counts maintained as albums change, and supports conditional requests against its
+     * own version, see {@link #isNotModified(ServletWebRequest, AlbumCollectionVersion)}.
+     *
+     * @param webRequest the request, to check its preconditions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the timeline in body,
+     * or with status {@code 304 (Not Modified)} if the client copy is up to date.
+     */
+    @GetMapping("/gallery/timeline")
+    public ResponseEntity<AlbumTimelineDTO> getGalleryTimeline(ServletWebRequest webRequest) {
+        LOG.debug("REST request to get the timeline of the gallery");
+        if (isNotModified(webRequest, albumTimelineService.getCurrentVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok(albumTimelineService.getTimeline());
+    }
+
+    /**
+     * {@code GET  /albums/mine} : get a slice of the albums of the current user, the most recent first.
+     * <p>
+     * The albums are paginated with a keyset cursor, like the gallery. The listing depends on the user, so it does not
+     * take part in the conditional requests on the shared collection.
+     *
+     * @param cursor the continuation token of the previous slice, absent for the first slice.
+     * @param size the maximum number of albums to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the slice of albums of the current user,
+     * or with status {@code 400 (Bad Request)} if the cursor or the size is not valid.
+     */
+    @GetMapping("/mine")
+    public ResponseEntity<List<AlbumSummaryDTO>> getCurrentUserAlbums(
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "size", required = false, defaultValue = "50") int size
+    ) {
+        LOG.debug("REST request to get the Albums of the current user, cursor: {}", cursor);
+        if (size < 1) {
+            throw new BadRequestAlertException("Invalid albums size", ENTITY_NAME, "sizeinvalid");
+        }
+
+        GallerySliceDTO slice;
+        try {
+            slice = albumService.findCurrentUserAlbums(cursor, Math.min(size, GALLERY_MAX_SIZE));
+        } catch (InvalidGalleryCursorException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
         }
 
-        Page<AlbumDTO> page = albumService.findAllWithEagerRelationships(pageable);
-        return ResponseEntity.ok().body(page.getContent());
+        return ResponseEntity.ok().headers(nextCursorHeaders(slice.getNextCursor())).body(slice.getAlbums());
+    }
+
+    /**
+     * Check the preconditions of a request on a listing of albums against the current version of the collection.
+     * <p>
+     * The version is sent as a weak {@code ETag} and as {@code Last-Modified}, with {@code Cache-Control: no-cache} so
+     * clients revalidate their copy on each use. This is done before the listing is read, so an unchanged listing only
+     * costs the read of the version, by primary keys, and neither the query of the listing nor its serialization.
+     *
+     * @param webRequest the request.
+     * @return whether the client copy is up to date, in which case the response is a {@code 304 (Not Modified)}.
+     */
+    private boolean isCollectionNotModified(ServletWebRequest webRequest) {
+        return isNotModified(webRequest, albumCollectionVersionService.getCurrentVersion());
+    }
+
+    private static boolean isNotModified(ServletWebRequest webRequest, AlbumCollectionVersion version) {
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli());
+    }
+
+    private static HttpHeaders nextCursorHeaders(String nextCursor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("cursor", nextCursor).toUriString();
+            headers.add(NEXT_CURSOR_HEADER, nextCursor);
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
     }
 
     /**
@@ -223,4 +698,21 @@ public class AlbumResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code DELETE  /albums?ids=:ids} : delete several albums.
+     * <p>
+     * The albums are deleted in a single transaction, with one statement.
+     *
+     * @param ids the ids of the albums to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the outcome for each distinct id in body,
+     * or with status {@code 400 (Bad Request)} if there are no ids or too many.
+     */
+    @DeleteMapping(value = "", params = "ids")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<AlbumBatchResultDTO>> deleteAlbums(@RequestParam(name = "ids") List<Long> ids) {
+        LOG.debug("REST request to delete Albums : {}", ids);
+        checkBatchSize(ids.size());
+        return ResponseEntity.ok(albumService.deleteAll(ids));
+    }
 }
@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { Button, Card, CardImg, CardBody, CardTitle, CardText, Row, Col, Container, ButtonGroup, Badge, Spinner, Alert } from 'reactstrap';
-import { TextFormat, Translate, openFile } from 'react-jhipster';
+import { TextFormat, Translate } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import {
   faCalendarAlt,
@@ -15,7 +15,9 @@ import {
 } from '@fortawesome/free-solid-svg-icons';
 import { APP_DATE_FORMAT } from 'app/config/constants';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
-import { getGalleryEntities } from './album.reducer';
+import { IGalleryGroup } from 'app/shared/model/album.model';
+import { getGalleryEntities, getGalleryGroupAlbums, getGalleryGroups } from './album.reducer';
+import AlbumThumbnail from './album-thumbnail';
 import './album-gallery.scss';
 
 export type AlbumSortType = 'EVENT' | 'DATE';
@@ -29,16 +31,54 @@ export const AlbumGallery = () => {
   const [viewMode, setViewMode] = useState<'grid' | 'list'>('grid');
 
   const albumList = useAppSelector(state => state.album.entities);
-  const loading = useAppSelector(state => state.album.loading);
-  const totalItems = useAppSelector(state => state.album.totalItems);
+  const albumsLoading = useAppSelector(state => state.album.loading);
+  const nextCursor = useAppSelector(state => state.album.links?.next);
+
+  // The EVENT view is grouped by the server, one page of groups at a time
+  const [groups, setGroups] = useState<IGalleryGroup[]>([]);
+  const [groupsCursor, setGroupsCursor] = useState<string | null>(null);
+  const [groupsLoading, setGroupsLoading] = useState(false);
+
+  const loading = sortType === 'EVENT' ? groupsLoading : albumsLoading;
+
+  const loadGroups = (cursor?: string) => {
+    setGroupsLoading(true);
+    dispatch(getGalleryGroups({ cursor }))
+      .unwrap()
+      .then(({ data, headers }) => {
+        setGroups(previous => (cursor ? [...previous, ...data] : data));
+        setGroupsCursor(headers?.['x-next-cursor'] ?? null);
+      })
+      .finally(() => setGroupsLoading(false));
+  };
+
+  const loadGroupAlbums = (group: IGalleryGroup) => {
+    dispatch(getGalleryGroupAlbums({ cursor: group.nextCursor }))
+      .unwrap()
+      .then(({ data, headers }) => {
+        setGroups(previous =>
+          previous.map(g =>
+            g === group ? { ...g, albums: [...g.albums, ...data], nextCursor: headers?.['x-next-cursor'] ?? null } : g,
+          ),
+        );
+      });
+  };
+
+  const loadAlbums = () => {
+    if (sortType === 'EVENT') {
+      loadGroups();
+    } else {
+      // Load albums using the specialized gallery endpoint
+      dispatch(
+        getGalleryEntities({
+          sortBy: sortType,
+        }),
+      );
+    }
+  };
 
   useEffect(() => {
-    // Load albums using the specialized gallery endpoint
-    dispatch(
-      getGalleryEntities({
-        sortBy: sortType,
-      }),
-    );
+    loadAlbums();
   }, [dispatch, sortType]);
 
   const handleSortChange = (newSortType: AlbumSortType) => {
@@ -46,62 +86,49 @@ export const AlbumGallery = () => {
   };
 
   const handleRefresh = () => {
-    dispatch(
-      getGalleryEntities({
-        sortBy: sortType,
-      }),
-    );
+    loadAlbums();
   };
 
-  const getGroupedAlbums = () => {
-    if (!albumList || albumList.length === 0) return {};
-
+  const handleLoadMore = () => {
     if (sortType === 'EVENT') {
-      // Group by event, with "Miscellaneous" for albums without events
-      const grouped = albumList.reduce(
-        (acc, album) => {
-          const eventKey = album.event && album.event.trim() !== '' ? album.event : 'Miscellaneous';
-          if (!acc[eventKey]) {
-            acc[eventKey] = [];
-          }
-          acc[eventKey].push(album);
-          return acc;
-        },
-        {} as Record<string, any[]>,
+      loadGroups(groupsCursor);
+    } else {
+      dispatch(
+        getGalleryEntities({
+          sortBy: sortType,
+          cursor: nextCursor,
+        }),
       );
+    }
+  };
 
-      // Sort each group's albums alphabetically by name
-      Object.keys(grouped).forEach(key => {
-        grouped[key].sort((a, b) => a.name.localeCompare(b.name));
-      });
+  const getGroupedAlbums = () => {
+    if (!albumList || albumList.length === 0) return {};
 
-      return grouped;
-    } else {
-      // Group by date (year-month for better organization)
-      const grouped = albumList.reduce(
-        (acc, album) => {
-          const date = album.overrideDate || album.creationDate;
-          const dateKey = date ? new Date(date).toLocaleDateString('en-US', { year: 'numeric', month: 'long' }) : 'No Date';
-          if (!acc[dateKey]) {
-            acc[dateKey] = [];
-          }
-          acc[dateKey].push(album);
-          return acc;
-        },
-        {} as Record<string, any[]>,
-      );
+    // Group by date (year-month for better organization)
+    const grouped = albumList.reduce(
+      (acc, album) => {
+        const date = album.overrideDate || album.creationDate;
+        const dateKey = date ? new Date(date as any).toLocaleDateString('en-US', { year: 'numeric', month: 'long' }) : 'No Date';
+        if (!acc[dateKey]) {
+          acc[dateKey] = [];
+        }
+        acc[dateKey].push(album);
+        return acc;
+      },
+      {} as Record<string, any[]>,
+    );
 
-      // Sort each group's albums by date (newest first)
-      Object.keys(grouped).forEach(key => {
-        grouped[key].sort((a, b) => {
-          const dateA = new Date(a.overrideDate || a.creationDate);
-          const dateB = new Date(b.overrideDate || b.creationDate);
-          return dateB.getTime() - dateA.getTime();
-        });
+    // Sort each group's albums by date (newest first)
+    Object.keys(grouped).forEach(key => {
+      grouped[key].sort((a, b) => {
+        const dateA = new Date(a.overrideDate || a.creationDate);
+        const dateB = new Date(b.overrideDate || b.creationDate);
+        return dateB.getTime() - dateA.getTime();
       });
+    });
 
-      return grouped;
-    }
+    return grouped;
   };
 
   const getDefaultThumbnail = () => {
@@ -112,13 +139,14 @@ export const AlbumGallery = () => {
     <Col key={album.id} xs={12} sm={6} md={4} lg={3} className={`mb-4 ${viewMode === 'list' ? 'col-12' : ''}`}>
       <Card className="album-card h-100 shadow-sm">
         <div className="album-thumbnail-container">
-          {album.thumbnail ? (
-            <CardImg
-              top
-              src={`data:${album.thumbnailContentType};base64,${album.thumbnail}`}
+          {album.thumbnailContentType ? (
+            <AlbumThumbnail
+              albumId={album.id}
+              thumbnailHash={album.thumbnailHash}
+              size={256}
+              fallback={getDefaultThumbnail()}
               alt={album.name}
-              className="album-thumbnail"
-              onClick={() => album.thumbnailContentType && openFile(album.thumbnailContentType, album.thumbnail)()}
+              className="card-img-top album-thumbnail"
             />
           ) : (
             <CardImg top src={getDefaultThumbnail()} alt="Default thumbnail" className="album-thumbnail default-thumbnail" />
@@ -158,7 +186,19 @@ export const AlbumGallery = () => {
   );
 
   const groupedAlbums = getGroupedAlbums();
-  const groupKeys = Object.keys(groupedAlbums).sort();
+  const dateGroups = Object.keys(groupedAlbums)
+    .sort()
+    .map(key => ({ key, title: key, albums: groupedAlbums[key], count: groupedAlbums[key].length, uncategorized: false, group: null }));
+  const eventGroups = groups.map(group => ({
+    key: group.uncategorized ? '' : group.event,
+    title: group.uncategorized ? 'Miscellaneous' : group.event,
+    albums: group.albums,
+    count: group.albumCount,
+    uncategorized: group.uncategorized,
+    group,
+  }));
+  const displayedGroups = sortType === 'EVENT' ? eventGroups : dateGroups;
+  const hasMore = sortType === 'EVENT' ? !!groupsCursor : !!nextCursor;
 
   return (
     <Container fluid className="album-gallery">
@@ -248,28 +288,42 @@ export const AlbumGallery = () => {
       )}
 
       {/* Gallery Content */}
-      {!loading && (
+      {(!loading || displayedGroups.length > 0) && (
         <>
-          {albumList && albumList.length > 0 ? (
+          {displayedGroups.length > 0 ? (
             <div className="gallery-content">
-              {groupKeys.map(groupKey => (
-                <div key={groupKey} className="album-group mb-5">
+              {displayedGroups.map(displayedGroup => (
+                <div key={displayedGroup.key} className="album-group mb-5">
                   <div className="group-header mb-3">
                     <h3 className="group-title">
-                      {groupKey}
+                      {displayedGroup.title}
                       <Badge color="secondary" className="ms-2">
-                        {groupedAlbums[groupKey].length} albums
+                        {displayedGroup.count} albums
                       </Badge>
                     </h3>
-                    {sortType === 'EVENT' && groupKey === 'Miscellaneous' && (
+                    {displayedGroup.uncategorized && (
                       <p className="text-muted small">
                         <Translate contentKey="gallerySystemApp.album.gallery.miscellaneousDesc">Albums without a specific event</Translate>
                       </p>
                     )}
                   </div>
-                  <Row>{groupedAlbums[groupKey].map(renderAlbumCard)}</Row>
+                  <Row>{displayedGroup.albums.map(renderAlbumCard)}</Row>
+                  {displayedGroup.group?.nextCursor && (
+                    <div className="text-center">
+                      <Button color="link" onClick={() => loadGroupAlbums(displayedGroup.group)}>
+                        <Translate contentKey="gallerySystemApp.album.gallery.showMore">Show more albums</Translate>
+                      </Button>
+                    </div>
+                  )}
                 </div>
               ))}
+              {hasMore && (
+                <div className="text-center mb-4">
+                  <Button color="outline-primary" onClick={handleLoadMore} disabled={loading}>
+                    <Translate contentKey="gallerySystemApp.album.gallery.loadMore">Load more albums</Translate>
+                  </Button>
+                </div>
+              )}
             </div>
           ) : (
             <Alert color="info" className="text-center py-5">
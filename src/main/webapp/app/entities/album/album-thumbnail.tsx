@@ -0,0 +1,49 @@
+import React, { useEffect, useState } from 'react';
+import axios from 'axios';
+
+export interface IAlbumThumbnailProps extends React.ImgHTMLAttributes<HTMLImageElement> {
+  albumId: number;
+  thumbnailHash?: string | null;
+  /** The length, in pixels, the thumbnail is displayed at: the smallest rendition at least as large is fetched. */
+  size?: number;
+  fallback?: string;
+}
+
+/**
+ * Displays an album thumbnail streamed from the thumbnail endpoint.
+ * The image is fetched through axios so the request is authenticated, and refetched only when its hash changes.
+ */
+export const AlbumThumbnail = ({ albumId, thumbnailHash, size, fallback, ...imgProps }: IAlbumThumbnailProps) => {
+  const [src, setSrc] = useState<string | null>(null);
+
+  useEffect(() => {
+    let objectUrl: string | null = null;
+    let cancelled = false;
+    axios
+      .get<Blob>(`api/albums/${albumId}/thumbnail`, { params: { size }, responseType: 'blob' })
+      .then(response => {
+        if (!cancelled) {
+          objectUrl = URL.createObjectURL(response.data);
+          setSrc(objectUrl);
+        }
+      })
+      .catch(() => {
+        if (!cancelled) {
+          setSrc(null);
+        }
+      });
+    return () => {
+      cancelled = true;
+      if (objectUrl) {
+        URL.revokeObjectURL(objectUrl);
+      }
+    };
+  }, [albumId, thumbnailHash, size]);
+
+  if (!src) {
+    return fallback ? <img src={fallback} {...imgProps} /> : null;
+  }
+  return <img src={src} {...imgProps} />;
+};
+
+export default AlbumThumbnail;
@@ -1,4 +1,4 @@
-import React, { useEffect } from 'react';
+import React, { useEffect, useState } from 'react';
 import { Link, useNavigate, useParams } from 'react-router-dom';
 import { Button, Col, Row } from 'reactstrap';
 import { Translate, ValidatedBlobField, ValidatedField, ValidatedForm, translate } from 'react-jhipster';
@@ -8,7 +8,8 @@ import { convertDateTimeFromServer, convertDateTimeToServer, displayDefaultDateT
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 
 import { getUsers } from 'app/modules/administration/user-management/user-management.reducer';
-import { createEntity, getEntity, reset, updateEntity } from './album.reducer';
+import { IAlbumEvent } from 'app/shared/model/album.model';
+import { createEntity, getEntity, getEventSuggestions, reset, updateEntity } from './album.reducer';
 
 export const AlbumUpdate = () => {
   const dispatch = useAppDispatch();
@@ -23,6 +24,7 @@ export const AlbumUpdate = () => {
   const loading = useAppSelector(state => state.album.loading);
   const updating = useAppSelector(state => state.album.updating);
   const updateSuccess = useAppSelector(state => state.album.updateSuccess);
+  const [eventSuggestions, setEventSuggestions] = useState<IAlbumEvent[]>([]);
 
   const handleClose = () => {
     navigate(`/album${location.search}`);
@@ -44,6 +46,14 @@ export const AlbumUpdate = () => {
     }
   }, [updateSuccess]);
 
+  // Suggest the existing events, so albums are not split across near-duplicate events
+  const suggestEvents = (prefix: string) => {
+    dispatch(getEventSuggestions(prefix))
+      .unwrap()
+      .then(({ data }) => setEventSuggestions(data))
+      .catch(() => setEventSuggestions([]));
+  };
+
   const saveEntity = values => {
     if (values.id !== undefined && typeof values.id !== 'number') {
       values.id = Number(values.id);
@@ -120,10 +130,21 @@ export const AlbumUpdate = () => {
                 name="event"
                 data-cy="event"
                 type="text"
+                list="album-event-suggestions"
+                autoComplete="off"
+                onFocus={e => suggestEvents(e.target.value)}
+                onInput={e => suggestEvents(e.currentTarget.value)}
                 validate={{
                   maxLength: { value: 255, message: translate('entity.validation.maxlength', { max: 255 }) },
                 }}
               />
+              <datalist id="album-event-suggestions">
+                {eventSuggestions.map(suggestion => (
+                  <option key={suggestion.event} value={suggestion.event}>
+                    {suggestion.event} ({suggestion.albumCount})
+                  </option>
+                ))}
+              </datalist>
               <ValidatedField
                 label={translate('gallerySystemApp.album.creationDate')}
                 id="album-creationDate"
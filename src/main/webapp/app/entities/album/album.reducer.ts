@@ -2,7 +2,7 @@ import axios from 'axios';
 import { createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
 import { cleanEntity } from 'app/shared/util/entity-utils';
 import { EntityState, IQueryParams, createEntitySlice, serializeAxiosError } from 'app/shared/reducers/reducer.utils';
-import { IAlbum, defaultValue } from 'app/shared/model/album.model';
+import { IAlbum, IAlbumEvent, IGalleryGroup, defaultValue } from 'app/shared/model/album.model';
 
 const initialState: EntityState<IAlbum> = {
   loading: false,
@@ -18,10 +18,12 @@ const apiUrl = 'api/albums';
 
 // Actions
 
+// The album listings are revalidated with their ETag by the browser, so they are requested without a cache buster
+
 export const getEntities = createAsyncThunk(
   'album/fetch_entity_list',
   async ({ page, size, sort }: IQueryParams) => {
-    const requestUrl = `${apiUrl}?${sort ? `page=${page}&size=${size}&sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+    const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
     return axios.get<IAlbum[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
@@ -29,13 +31,40 @@ export const getEntities = createAsyncThunk(
 
 export const getGalleryEntities = createAsyncThunk(
   'album/fetch_gallery_entity_list',
-  async ({ sortBy }: { sortBy: string }) => {
-    const requestUrl = `${apiUrl}/gallery?sortBy=${sortBy}&cacheBuster=${new Date().getTime()}`;
+  async ({ sortBy, cursor }: { sortBy: string; cursor?: string }) => {
+    const requestUrl = `${apiUrl}/gallery?sortBy=${sortBy}${cursor ? `&cursor=${cursor}` : ''}`;
     return axios.get<IAlbum[]>(requestUrl);
   },
   { serializeError: serializeAxiosError },
 );
 
+export const getGalleryGroups = createAsyncThunk(
+  'album/fetch_gallery_group_list',
+  async ({ cursor }: { cursor?: string }) => {
+    const requestUrl = `${apiUrl}/gallery/groups${cursor ? `?cursor=${cursor}` : ''}`;
+    return axios.get<IGalleryGroup[]>(requestUrl);
+  },
+  { serializeError: serializeAxiosError },
+);
+
+export const getGalleryGroupAlbums = createAsyncThunk(
+  'album/fetch_gallery_group_album_list',
+  async ({ cursor }: { cursor: string }) => {
+    const requestUrl = `${apiUrl}/gallery/groups/albums?cursor=${cursor}`;
+    return axios.get<IAlbum[]>(requestUrl);
+  },
+  { serializeError: serializeAxiosError },
+);
+
+export const getEventSuggestions = createAsyncThunk(
+  'album/fetch_event_suggestion_list',
+  async (prefix: string) => {
+    const requestUrl = `${apiUrl}/events?prefix=${encodeURIComponent(prefix)}`;
+    return axios.get<IAlbumEvent[]>(requestUrl);
+  },
+  { serializeError: serializeAxiosError },
+);
+
 export const getEntity = createAsyncThunk(
   'album/fetch_entity',
   async (id: string | number) => {
@@ -102,7 +131,20 @@ export const AlbumSlice = createEntitySlice({
         state.updateSuccess = true;
         state.entity = {};
       })
-      .addMatcher(isFulfilled(getEntities, getGalleryEntities), (state, action) => {
+      .addCase(getGalleryEntities.fulfilled, (state, action) => {
+        const { data, headers } = action.payload;
+        // A cursor means the next slice of the gallery was requested: append it to the albums already loaded
+        const entities = action.meta.arg.cursor ? [...state.entities, ...data] : data;
+
+        return {
+          ...state,
+          loading: false,
+          entities,
+          links: { next: headers?.['x-next-cursor'] ?? null },
+          totalItems: entities.length,
+        };
+      })
+      .addMatcher(isFulfilled(getEntities), (state, action) => {
         const { data, headers } = action.payload;
 
         return {
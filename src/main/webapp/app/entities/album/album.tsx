@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
-import { JhiItemCount, JhiPagination, TextFormat, Translate, byteSize, getPaginationState, openFile } from 'react-jhipster';
+import { JhiItemCount, JhiPagination, TextFormat, Translate, getPaginationState } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { faSort, faSortDown, faSortUp, faImages } from '@fortawesome/free-solid-svg-icons';
 import { APP_DATE_FORMAT } from 'app/config/constants';
@@ -10,6 +10,7 @@ import { overridePaginationStateWithQueryParams } from 'app/shared/util/entity-u
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 
 import { getEntities } from './album.reducer';
+import AlbumThumbnail from './album-thumbnail';
 
 export const Album = () => {
   const dispatch = useAppDispatch();
@@ -156,18 +157,12 @@ export const Album = () => {
                   <td>{album.creationDate ? <TextFormat type="date" value={album.creationDate} format={APP_DATE_FORMAT} /> : null}</td>
                   <td>{album.overrideDate ? <TextFormat type="date" value={album.overrideDate} format={APP_DATE_FORMAT} /> : null}</td>
                   <td>
-                    {album.thumbnail ? (
-                      <div>
-                        {album.thumbnailContentType ? (
-                          <a onClick={openFile(album.thumbnailContentType, album.thumbnail)}>
-                            <img src={`data:${album.thumbnailContentType};base64,${album.thumbnail}`} style={{ maxHeight: '30px' }} />
-                            &nbsp;
-                          </a>
-                        ) : null}
-                        <span>
-                          {album.thumbnailContentType}, {byteSize(album.thumbnail)}
-                        </span>
-                      </div>
+                    {album.thumbnailContentType ? (
+                      <span>
+                        <AlbumThumbnail albumId={album.id} thumbnailHash={album.thumbnailHash} size={64} style={{ maxHeight: '30px' }} />{' '}
+                        {album.thumbnailContentType}
+                        {album.thumbnailSize != null ? `, ${album.thumbnailSize} bytes` : ''}
+                      </span>
                     ) : null}
                   </td>
                   <td>{album.user ? album.user.login : ''}</td>
@@ -9,7 +9,23 @@ export interface IAlbum {
   overrideDate?: dayjs.Dayjs | null;
   thumbnailContentType?: string | null;
   thumbnail?: string | null;
+  thumbnailSize?: number | null;
+  thumbnailHash?: string | null;
   user?: IUser | null;
+  version?: number;
+}
+
+export interface IGalleryGroup {
+  event: string | null;
+  uncategorized: boolean;
+  albumCount: number;
+  albums: IAlbum[];
+  nextCursor: string | null;
+}
+
+export interface IAlbumEvent {
+  event: string;
+  albumCount: number;
 }
 
 export const defaultValue: Readonly<IAlbum> = {};
@@ -0,0 +1,132 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Album;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.management.EhcacheCacheMetrics;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the caches created by {@link CacheConfiguration}, as configured in the test
+ * {@code application.yml}, with the second-level cache of Hibernate enabled.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+class CacheConfigurationIT {
+
+    private static final String CACHES = "$.cacheManagers.cacheManager.caches";
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private javax.cache.CacheManager jcacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void getCachesWithTheirConfiguration() throws Exception {
+        String authority = CACHES + "['" + Authority.class.getName() + "']";
+        String album = CACHES + "['" + Album.class.getName() + "']";
+        String user = CACHES + "['" + User.class.getName() + "']";
+        restMockMvc
+            .perform(get("/management/caches"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(authority + ".target").exists())
+            // Defined in application.caches
+            .andExpect(jsonPath(authority + ".configuration.heapEntries").value(10))
+            .andExpect(jsonPath(authority + ".configuration.timeToIdle").value("PT10M"))
+            .andExpect(jsonPath(authority + ".configuration.timeToLive").doesNotExist())
+            .andExpect(jsonPath(album + ".configuration.offHeapBytes").value(8 * 1024 * 1024))
+            .andExpect(jsonPath(album + ".configuration.diskBytes").value(16 * 1024 * 1024))
+            .andExpect(jsonPath(album + ".configuration.valueType").value("java.io.Serializable"))
+            // The jhipster.cache.ehcache defaults
+            .andExpect(jsonPath(user + ".configuration.heapEntries").value(100))
+            .andExpect(jsonPath(user + ".configuration.timeToLive").value("PT1H"))
+            .andExpect(jsonPath(user + ".configuration.keyType").value(Object.class.getName()));
+    }
+
+    @Test
+    void albumRegionKeepsEntriesOffHeap() {
+        javax.cache.Cache<?, ?> albums = jcacheManager.getCache(Album.class.getName());
+        CacheRuntimeConfiguration<?, ?> runtime = albums.unwrap(org.ehcache.Cache.class).getRuntimeConfiguration();
+        assertThat(runtime.getResourcePools().getResourceTypeSet()).contains(
+            ResourceType.Core.HEAP,
+            ResourceType.Core.OFFHEAP,
+            ResourceType.Core.DISK
+        );
+
+        Album album = transactionTemplate.execute(status ->
+            albumRepository.saveAndFlush(
+                new Album().name("cached").event("event").creationDate(Instant.parse("2026-01-01T00:00:00Z"))
+            )
+        );
+        try {
+            // Ehcache writes the entry to the lowest tier, serialized, and reads it back from there
+            assertThat(entityManagerFactory.getCache().contains(Album.class, album.getId())).isTrue();
+            Album cached = transactionTemplate.execute(status -> albumRepository.findById(album.getId()).orElseThrow());
+            assertThat(cached.getName()).isEqualTo("cached");
+            assertThat(cached.getEvent()).isEqualTo("event");
+            assertThat(cached.getCreationDate()).isEqualTo(album.getCreationDate());
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> albumRepository.deleteById(album.getId()));
+        }
+    }
+
+    @Test
+    void cachesAreBoundToMicrometer() {
+        // The second-level cache regions are measured by Ehcache, without the statistics of Hibernate
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().isStatisticsEnabled()).isFalse();
+        for (String cacheName : jcacheManager.getCacheNames()) {
+            assertThat(meterRegistry.get("cache.size").tag("cache", cacheName).gauge()).isNotNull();
+            assertThat(meterRegistry.get(EhcacheCacheMetrics.GETS_LATENCY_METER_NAME).tag("cache", cacheName).timers()).isNotEmpty();
+        }
+
+        Album album = transactionTemplate.execute(status ->
+            albumRepository.saveAndFlush(new Album().name("measured").creationDate(Instant.parse("2026-01-01T00:00:00Z")))
+        );
+        try {
+            double hits = albumRegionHits();
+            transactionTemplate.execute(status -> albumRepository.findById(album.getId()).orElseThrow());
+            assertThat(albumRegionHits()).isEqualTo(hits + 1);
+            assertThat(meterRegistry.get("cache.size").tag("cache", Album.class.getName()).gauge().value()).isPositive();
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> albumRepository.deleteById(album.getId()));
+        }
+    }
+
+    private double albumRegionHits() {
+        return meterRegistry.get("cache.gets").tag("cache", Album.class.getName()).tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,112 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+class CacheRegionConfigurationTest {
+
+    private JHipsterProperties.Cache.Ehcache defaults;
+
+    private List<String> errors;
+
+    @BeforeEach
+    void setup() {
+        defaults = new JHipsterProperties.Cache.Ehcache();
+        defaults.setMaxEntries(100);
+        defaults.setTimeToLiveSeconds(3600);
+        errors = new ArrayList<>();
+    }
+
+    @Test
+    void shouldUseTheDefaultsWithoutDefinition() {
+        CacheRegionConfiguration configuration = CacheRegionConfiguration.resolve("cache", null, defaults, errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(configuration.heapEntries()).isEqualTo(100);
+        assertThat(configuration.heapBytes()).isNull();
+        assertThat(configuration.offHeapBytes()).isNull();
+        assertThat(configuration.diskBytes()).isNull();
+        assertThat(configuration.timeToLive()).isEqualTo(Duration.ofHours(1));
+        assertThat(configuration.timeToIdle()).isNull();
+        assertThat(configuration.keyType()).isEqualTo(Object.class);
+    }
+
+    @Test
+    void shouldOverrideTheDefaults() {
+        ApplicationProperties.CacheDefinition definition = new ApplicationProperties.CacheDefinition();
+        definition.setHeapSize(DataSize.ofMegabytes(1));
+        definition.setOffHeapSize(DataSize.ofMegabytes(8));
+        definition.setTimeToIdle(Duration.ofMinutes(10));
+        definition.setKeyType(Serializable.class);
+        definition.setValueType(String.class);
+
+        CacheRegionConfiguration configuration = CacheRegionConfiguration.resolve("cache", definition, defaults, errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(configuration.heapEntries()).isNull();
+        assertThat(configuration.heapBytes()).isEqualTo(DataSize.ofMegabytes(1).toBytes());
+        assertThat(configuration.offHeapBytes()).isEqualTo(DataSize.ofMegabytes(8).toBytes());
+        assertThat(configuration.timeToLive()).isNull();
+        assertThat(configuration.timeToIdle()).isEqualTo(Duration.ofMinutes(10));
+
+        CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        try {
+            Cache<Object, Object> cache = cacheManager.createCache("cache", configuration.toJCacheConfiguration());
+            cache.put("key", "value");
+            assertThat(cache.get("key")).isEqualTo("value");
+            CacheRuntimeConfiguration<?, ?> runtime = cache.unwrap(org.ehcache.Cache.class).getRuntimeConfiguration();
+            assertThat(runtime.getResourcePools().getResourceTypeSet()).contains(ResourceType.Core.HEAP, ResourceType.Core.OFFHEAP);
+            assertThat(runtime.getValueType()).isEqualTo(String.class);
+        } finally {
+            cacheManager.destroyCache("cache");
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidDefinitions() {
+        ApplicationProperties.CacheDefinition definition = new ApplicationProperties.CacheDefinition();
+        definition.setHeapEntries(0L);
+        definition.setHeapSize(DataSize.ofMegabytes(1));
+        definition.setOffHeapSize(DataSize.ofMegabytes(8));
+        definition.setDiskSize(DataSize.ofMegabytes(16));
+        definition.setTimeToLive(Duration.ofMinutes(1));
+        definition.setTimeToIdle(Duration.ZERO);
+
+        assertThat(CacheRegionConfiguration.resolve("cache", definition, defaults, errors)).isNull();
+        assertThat(errors).containsExactly(
+            "cache: heap-entries and heap-size are exclusive",
+            "cache: heap-entries must be positive",
+            "cache: time-to-live and time-to-idle are exclusive",
+            "cache: time-to-idle must be positive",
+            "cache: off-heap-size requires serializable key-type and value-type",
+            "cache: disk-size requires serializable key-type and value-type"
+        );
+    }
+
+    @Test
+    void shouldRejectAnOffHeapTierSmallerThanTheHeap() {
+        ApplicationProperties.CacheDefinition definition = new ApplicationProperties.CacheDefinition();
+        definition.setHeapSize(DataSize.ofMegabytes(8));
+        definition.setOffHeapSize(DataSize.ofMegabytes(1));
+        definition.setKeyType(Serializable.class);
+        definition.setValueType(Serializable.class);
+
+        assertThat(CacheRegionConfiguration.resolve("cache", definition, defaults, errors)).isNull();
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0)).startsWith("cache: ");
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class NearCacheTest {
+
+    private RacingCache delegate;
+
+    private NearCache nearCache;
+
+    @BeforeEach
+    void setup() {
+        delegate = new RacingCache();
+        nearCache = new NearCache(delegate, 10, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldReadFromTheNearTierOnceLoaded() {
+        delegate.put("user", "first");
+        assertThat(nearCache.get("user", String.class)).isEqualTo("first");
+
+        // Bypass the near cache: the near tier still holds the previous value
+        delegate.put("user", "second");
+        assertThat(nearCache.get("user", String.class)).isEqualTo("first");
+
+        assertThat(nearCache.evictIfPresent("user")).isTrue();
+        assertThat(nearCache.get("user")).isNull();
+        assertThat(nearCache.getNearCache().getIfPresent("user")).isNull();
+    }
+
+    @Test
+    void shouldInvalidateTheNearTierOnWrites() {
+        nearCache.put("user", "first");
+        assertThat(nearCache.get("user", String.class)).isEqualTo("first");
+
+        nearCache.put("user", "second");
+        assertThat(nearCache.getNearCache().getIfPresent("user")).isNull();
+        assertThat(nearCache.get("user", String.class)).isEqualTo("second");
+
+        nearCache.clear();
+        assertThat(nearCache.get("user")).isNull();
+    }
+
+    @Test
+    void shouldNotKeepAValueReadBeforeAnEviction() {
+        nearCache.put("user", "first");
+        delegate.evictDuringNextRead = true;
+
+        // The value was read before the eviction, so it may be returned but not kept
+        assertThat(nearCache.get("user", String.class)).isEqualTo("first");
+        assertThat(nearCache.getNearCache().getIfPresent("user")).isNull();
+        assertThat(nearCache.get("user")).isNull();
+    }
+
+    private final class RacingCache extends ConcurrentMapCache {
+
+        private boolean evictDuringNextRead;
+
+        private RacingCache() {
+            super("usersByLogin");
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper value = super.get(key);
+            if (evictDuringNextRead) {
+                evictDuringNextRead = false;
+                nearCache.evict(key);
+            }
+            return value;
+        }
+    }
+}
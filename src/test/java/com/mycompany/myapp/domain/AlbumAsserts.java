@@ -51,10 +51,11 @@ public class AlbumAsserts {
             .satisfies(a -> assertThat(a.getEvent()).as("check event").isEqualTo(expected.getEvent()))
             .satisfies(a -> assertThat(a.getCreationDate()).as("check creationDate").isEqualTo(expected.getCreationDate()))
             .satisfies(a -> assertThat(a.getOverrideDate()).as("check overrideDate").isEqualTo(expected.getOverrideDate()))
-            .satisfies(a -> assertThat(a.getThumbnail()).as("check thumbnail").isEqualTo(expected.getThumbnail()))
             .satisfies(a ->
                 assertThat(a.getThumbnailContentType()).as("check thumbnail contenty type").isEqualTo(expected.getThumbnailContentType())
-            );
+            )
+            .satisfies(a -> assertThat(a.getThumbnailSize()).as("check thumbnail size").isEqualTo(expected.getThumbnailSize()))
+            .satisfies(a -> assertThat(a.getThumbnailHash()).as("check thumbnail hash").isEqualTo(expected.getThumbnailHash()));
     }
 
     /**
@@ -0,0 +1,73 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.NearCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCache;
+
+class EhcacheCacheMeterBinderProviderTest {
+
+    private static final String CACHE_NAME = "nearMetrics";
+
+    private CacheManager cacheManager;
+
+    private NearCache nearCache;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        javax.cache.Cache<Object, Object> cache = cacheManager.createCache(
+            CACHE_NAME,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10))
+            )
+        );
+        nearCache = new NearCache(new JCacheCache(cache), 10, Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        new EhcacheCacheMeterBinderProvider().getMeterBinder(nearCache, Tags.of("cache.manager", "test")).bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void teardown() {
+        cacheManager.destroyCache(CACHE_NAME);
+    }
+
+    @Test
+    void shouldMeasureTheNearCacheAndTheCacheBehindIt() {
+        nearCache.put("a", "1");
+        assertThat(nearCache.get("a", String.class)).isEqualTo("1");
+        assertThat(nearCache.get("a", String.class)).isEqualTo("1");
+
+        assertThat(gets(EhcacheCacheMeterBinderProvider.NEAR_TIER, "hit")).isEqualTo(1);
+        assertThat(gets(EhcacheCacheMeterBinderProvider.NEAR_TIER, "miss")).isEqualTo(1);
+        assertThat(gets(EhcacheCacheMeterBinderProvider.EHCACHE_TIER, "hit")).isEqualTo(1);
+        assertThat(
+            meterRegistry.get(EhcacheCacheMetrics.TIER_ENTRIES_METER_NAME).tag("cache", CACHE_NAME).tag("tier", "onheap").gauge().value()
+        ).isEqualTo(1);
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry
+            .get("cache.gets")
+            .tag("cache", CACHE_NAME)
+            .tag(EhcacheCacheMetrics.TIER_DIMENSION, tier)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+}
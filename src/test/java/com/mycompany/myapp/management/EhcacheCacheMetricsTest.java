@@ -0,0 +1,106 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EhcacheCacheMetricsTest {
+
+    private static final String CACHE_NAME = "metrics";
+
+    private CacheManager cacheManager;
+
+    private Cache<String, String> cache;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        cache = cacheManager.createCache(
+            CACHE_NAME,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                    String.class,
+                    String.class,
+                    ResourcePoolsBuilder.newResourcePoolsBuilder().heap(2, EntryUnit.ENTRIES).offheap(1, MemoryUnit.MB)
+                )
+            )
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        EhcacheCacheMetrics.of(cache.unwrap(org.ehcache.Cache.class), CACHE_NAME, Tags.of("cache.manager", "test")).bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void teardown() {
+        cacheManager.destroyCache(CACHE_NAME);
+    }
+
+    @Test
+    void shouldCountTheOperationsOfTheCache() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("missing")).isNull();
+        cache.remove("b");
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.puts").functionCounter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.removals").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("cache.size").tag("cache.manager", "test").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMeasureEachTier() {
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get("key" + i)).isEqualTo("value" + i);
+        }
+
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get(EhcacheCacheMetrics.TIER_ENTRIES_METER_NAME).tag("tier", "offheap").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get(EhcacheCacheMetrics.TIER_ENTRIES_METER_NAME).tag("tier", "onheap").gauge().value())
+            .isLessThanOrEqualTo(2);
+        assertThat(meterRegistry.get(EhcacheCacheMetrics.TIER_BYTES_METER_NAME).tag("tier", "offheap").gauge().value()).isPositive();
+    }
+
+    @Test
+    void shouldMeasureTheLatencyOfTheGets() {
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+
+        assertThat(meterRegistry.get(EhcacheCacheMetrics.GETS_LATENCY_METER_NAME).tag("result", "hit").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(EhcacheCacheMetrics.GETS_LATENCY_METER_NAME).tag("result", "miss").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(EhcacheCacheMetrics.GETS_LATENCY_METER_NAME).tag("result", "hit").timer().totalTime(TimeUnit.SECONDS))
+            .isPositive()
+            .isLessThan(1);
+    }
+
+    @Test
+    void shouldNotBindACacheWhoseStatisticsCannotBeRead() {
+        assertThat(EhcacheCacheMetrics.of(mock(org.ehcache.Cache.class), CACHE_NAME, Tags.empty())).isNull();
+    }
+}
@@ -0,0 +1,160 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import java.sql.DatabaseMetaData;
+import java.util.Objects;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking that the access paths of {@link AlbumRepository} and {@link AlbumGalleryViewRepository} are
+ * served by an index.
+ * <p>
+ * The statements mirror the SQL generated for the repository queries. On PostgreSQL, sequential scans and sorts are
+ * disabled for the transaction so the planner picks an index whenever one applies, whatever the size of the table.
+ */
+@IntegrationTest
+@Transactional
+class AlbumRepositoryIT {
+
+    private static final String SELECT_SUMMARY = "select a.id, a.name, a.event, u.login from album a left join jhi_user u on u.id = a.user_id ";
+
+    private static final String SELECT_GALLERY_VIEW =
+        "select v.album_id, v.name, v.event, u.login from album_gallery_view v left join jhi_user u on u.id = v.user_id ";
+
+    private static final String FIRST_ROWS = " offset 0 rows fetch first 20 rows only";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean postgres;
+
+    @BeforeEach
+    void setup() {
+        postgres = Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName();
+        })).equalsIgnoreCase("PostgreSQL");
+        if (postgres) {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            jdbcTemplate.execute("set local enable_sort = off");
+        }
+    }
+
+    @Test
+    void galleryByEventIsReadFromIndex() {
+        assertIndexSorted(SELECT_SUMMARY + "where a.event is not null order by a.event asc, a.name asc, a.id asc" + FIRST_ROWS);
+        assertIndexRangeSorted(
+            SELECT_SUMMARY + "where (a.event, a.name, a.id) > ('event', 'name', 1) order by a.event asc, a.name asc, a.id asc" + FIRST_ROWS
+        );
+        assertIndexRangeSorted(
+            SELECT_SUMMARY + "where a.event = 'event' and (a.name, a.id) > ('name', 1) order by a.event asc, a.name asc, a.id asc" + FIRST_ROWS
+        );
+        assertIndexRangeSorted(
+            SELECT_SUMMARY + "where a.event is null and (a.name, a.id) > ('name', 1) order by a.event asc, a.name asc, a.id asc" + FIRST_ROWS
+        );
+    }
+
+    @Test
+    void galleryGroupsAreReadFromIndex() {
+        assertIndexSorted("select a.event, count(a.id) from album a group by a.event order by a.event asc nulls last" + FIRST_ROWS);
+    }
+
+    @Test
+    void galleryByDateIsReadFromIndex() {
+        assertIndexSorted(SELECT_SUMMARY + "order by a.effective_date desc, a.id desc" + FIRST_ROWS);
+        assertIndexRangeSorted(
+            SELECT_SUMMARY +
+            "where (a.effective_date, a.id) < (timestamp '2100-01-01 00:00:00', 1) order by a.effective_date desc, a.id desc" +
+            FIRST_ROWS
+        );
+    }
+
+    @Test
+    void galleryViewIsReadFromIndex() {
+        String byEvent = " order by v.event asc, v.name asc, v.album_id asc" + FIRST_ROWS;
+        assertIndexSorted(SELECT_GALLERY_VIEW + "where v.event is not null" + byEvent);
+        assertIndexRangeSorted(SELECT_GALLERY_VIEW + "where (v.event, v.name, v.album_id) > ('event', 'name', 1)" + byEvent);
+        assertIndexRangeSorted(SELECT_GALLERY_VIEW + "where v.event = 'event' and (v.name, v.album_id) > ('name', 1)" + byEvent);
+        assertIndexRangeSorted(SELECT_GALLERY_VIEW + "where v.event is null and (v.name, v.album_id) > ('name', 1)" + byEvent);
+        assertIndexSorted(SELECT_GALLERY_VIEW + "order by v.effective_date desc, v.album_id desc" + FIRST_ROWS);
+        assertIndexRangeSorted(
+            SELECT_GALLERY_VIEW +
+            "where (v.effective_date, v.album_id) < (timestamp '2100-01-01 00:00:00', 1) order by v.effective_date desc, v.album_id desc" +
+            FIRST_ROWS
+        );
+        assertIndexSorted(
+            "select v.event, count(v.album_id) from album_gallery_view v group by v.event order by v.event asc nulls last" + FIRST_ROWS
+        );
+    }
+
+    @Test
+    void albumsOfUserAreReadFromIndex() {
+        assertIndexRange("select a.id from album a where a.user_id = 1");
+        assertIndexRange("select a.id from album a join jhi_user u on u.id = a.user_id where u.login = 'user'");
+    }
+
+    @Test
+    void albumsOfUserByDateAreReadFromIndex() {
+        assertUserIndexRangeSorted(SELECT_SUMMARY + "where a.user_id = 1 order by a.effective_date desc, a.id desc" + FIRST_ROWS);
+        assertUserIndexRangeSorted(
+            SELECT_SUMMARY +
+            "where a.user_id = 1 and (a.effective_date, a.id) < (timestamp '2100-01-01 00:00:00', 1) " +
+            "order by a.effective_date desc, a.id desc" +
+            FIRST_ROWS
+        );
+    }
+
+    private void assertIndexRange(String sql) {
+        assertIndexRangePlan(explain(sql));
+    }
+
+    private void assertUserIndexRangeSorted(String sql) {
+        String plan = explain(sql);
+        assertIndexRangePlan(plan);
+        // H2 does not tell that an index is read in order after an equality on its leading column
+        if (postgres) {
+            assertIndexSorted(plan, sql);
+        }
+    }
+
+    private void assertIndexRangePlan(String plan) {
+        if (postgres) {
+            assertThat(plan).doesNotContain("Seq Scan on album").containsPattern("Index Cond: .*user_id");
+        } else {
+            assertThat(plan).doesNotContain("ALBUM.tableScan").containsPattern("/\\* PUBLIC\\.\\w+: USER_ID = ");
+        }
+    }
+
+    private void assertIndexRangeSorted(String sql) {
+        String plan = explain(sql);
+        assertIndexSorted(plan, sql);
+        if (postgres) {
+            assertThat(plan).as(sql).contains("Index Cond:");
+        } else {
+            assertThat(plan).as(sql).containsPattern("/\\* PUBLIC\\.IDX_ALBUM_\\w+: ");
+        }
+    }
+
+    private void assertIndexSorted(String sql) {
+        assertIndexSorted(explain(sql), sql);
+    }
+
+    private void assertIndexSorted(String plan, String sql) {
+        if (postgres) {
+            assertThat(plan).as(sql).doesNotContain("Seq Scan on album").doesNotContainPattern("(?m)^\\s*(->\\s*)?(Incremental )?Sort");
+        } else {
+            assertThat(plan).as(sql).doesNotContainPattern("ALBUM\\w*\\.tableScan").containsPattern("/\\* (index|group) sorted \\*/");
+        }
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+class BlobStoreTest {
+
+    private static final byte[] CONTENT = "hello world".getBytes(StandardCharsets.UTF_8);
+
+    private static final String CONTENT_HASH = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @TempDir
+    Path root;
+
+    private BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBlobStore().setPath(root.toString());
+        blobStore = new BlobStore(applicationProperties);
+    }
+
+    @Test
+    void shouldStoreBlobUnderItsHash() {
+        assertThat(blobStore.put(CONTENT)).isEqualTo(CONTENT_HASH);
+
+        assertThat(blobStore.exists(CONTENT_HASH)).isTrue();
+        assertThat(blobStore.read(CONTENT_HASH)).hasValue(CONTENT);
+        assertThat(root.resolve("b9").resolve("4d").resolve(CONTENT_HASH)).hasBinaryContent(CONTENT);
+    }
+
+    @Test
+    void shouldStoreIdenticalBlobsOnce() throws IOException {
+        blobStore.put(CONTENT);
+        blobStore.put(CONTENT.clone());
+
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(root.resolve("b9").resolve("4d").resolve(CONTENT_HASH));
+        }
+    }
+
+    @Test
+    void shouldReadBlobThroughResource() throws IOException {
+        blobStore.put(CONTENT);
+
+        Resource resource = blobStore.getResource(CONTENT_HASH);
+        assertThat(resource.exists()).isTrue();
+        assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+        assertThat(resource.getContentAsByteArray()).isEqualTo(CONTENT);
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.skip(6)).isEqualTo(6);
+            assertThat(in.readAllBytes()).isEqualTo("world".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldNotFindMissingBlob() {
+        String hash = "0".repeat(64);
+
+        assertThat(blobStore.exists(hash)).isFalse();
+        assertThat(blobStore.read(hash)).isEmpty();
+        assertThat(blobStore.getResource(hash).exists()).isFalse();
+    }
+
+    @Test
+    void shouldRejectInvalidHash() {
+        assertThatThrownBy(() -> blobStore.read("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,117 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.AlbumChange;
+import com.mycompany.myapp.repository.AlbumChangeRepository;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import com.mycompany.myapp.service.dto.AlbumChangeDTO;
+import com.mycompany.myapp.service.dto.AlbumChangeFeedDTO;
+import com.mycompany.myapp.service.mapper.AlbumMapperImpl;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AlbumChangeFeedServiceTest {
+
+    private static final Instant SETTLED = Instant.now().minus(1, ChronoUnit.HOURS);
+
+    private final List<AlbumChange> log = new ArrayList<>();
+
+    private AlbumChangeFeedService albumChangeFeedService;
+
+    @BeforeEach
+    void setup() {
+        AlbumChangeRepository albumChangeRepository = mock(AlbumChangeRepository.class);
+        when(albumChangeRepository.findAfter(anyLong(), anyInt())).thenAnswer(invocation ->
+            log
+                .stream()
+                .filter(change -> change.id() > invocation.<Long>getArgument(0))
+                .limit(invocation.<Integer>getArgument(1))
+                .toList()
+        );
+        when(albumChangeRepository.findLastIdBefore(any())).thenAnswer(invocation ->
+            log
+                .stream()
+                .filter(change -> change.changedAt().isBefore(invocation.getArgument(0)))
+                .map(AlbumChange::id)
+                .reduce((first, second) -> second)
+        );
+
+        AlbumRepository albumRepository = mock(AlbumRepository.class);
+        when(albumRepository.findSummariesByIdIn(any())).thenAnswer(invocation ->
+            invocation.<Collection<Long>>getArgument(0).stream().filter(id -> id != 3L).map(AlbumChangeFeedServiceTest::album).toList()
+        );
+
+        albumChangeFeedService = new AlbumChangeFeedService(
+            albumChangeRepository,
+            albumRepository,
+            new AlbumMapperImpl(),
+            new ApplicationProperties()
+        );
+    }
+
+    @Test
+    void shouldReportEachAlbumOnceWithItsLastChange() {
+        log.add(new AlbumChange(10, 1L, false, SETTLED));
+        log.add(new AlbumChange(11, 2L, false, SETTLED));
+        log.add(new AlbumChange(12, 1L, false, SETTLED));
+        log.add(new AlbumChange(13, 2L, true, SETTLED));
+        // Updated, then deleted by a change which is not read yet
+        log.add(new AlbumChange(14, 3L, false, SETTLED));
+
+        AlbumChangeFeedDTO feed = albumChangeFeedService.getChanges(9L, 100);
+
+        assertThat(feed.getChanges()).extracting(AlbumChangeDTO::getAlbumId).containsExactly(1L, 2L, 3L);
+        assertThat(feed.getChanges()).extracting(AlbumChangeDTO::isDeleted).containsExactly(false, true, true);
+        assertThat(feed.getChanges().get(0).getAlbum().getName()).isEqualTo("Album 1");
+        assertThat(feed.getToken()).isEqualTo(14);
+        assertThat(feed.isMore()).isFalse();
+    }
+
+    @Test
+    void shouldReadTheLogInPages() {
+        log.add(new AlbumChange(10, 1L, false, SETTLED));
+        log.add(new AlbumChange(11, 2L, false, SETTLED));
+        log.add(new AlbumChange(12, 4L, false, SETTLED));
+
+        AlbumChangeFeedDTO first = albumChangeFeedService.getChanges(0L, 2);
+        assertThat(first.getChanges()).extracting(AlbumChangeDTO::getAlbumId).containsExactly(1L, 2L);
+        assertThat(first.isMore()).isTrue();
+
+        AlbumChangeFeedDTO second = albumChangeFeedService.getChanges(first.getToken(), 2);
+        assertThat(second.getChanges()).extracting(AlbumChangeDTO::getAlbumId).containsExactly(4L);
+        assertThat(second.getToken()).isEqualTo(12);
+        assertThat(second.isMore()).isFalse();
+    }
+
+    @Test
+    void shouldNotMoveTheTokenPastRecentChanges() {
+        log.add(new AlbumChange(10, 1L, false, SETTLED));
+        log.add(new AlbumChange(11, 2L, false, Instant.now()));
+        log.add(new AlbumChange(12, 4L, false, SETTLED));
+
+        AlbumChangeFeedDTO feed = albumChangeFeedService.getChanges(0L, 2);
+
+        // The token stays before the recent change, so a change logged before it but committed late is still read
+        assertThat(feed.getChanges()).extracting(AlbumChangeDTO::getAlbumId).containsExactly(1L, 2L);
+        assertThat(feed.getToken()).isEqualTo(10);
+        assertThat(feed.isMore()).isFalse();
+        assertThat(albumChangeFeedService.getChanges(null, 100).getToken()).isEqualTo(12);
+    }
+
+    private static AlbumSummary album(Long id) {
+        return new AlbumSummary(id, "Album " + id, null, SETTLED, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AlbumEventIndexTest {
+
+    private final List<AlbumSummary> albums = new ArrayList<>();
+
+    private AlbumEventIndex albumEventIndex;
+
+    @BeforeEach
+    void setup() {
+        albums.add(album(1L, "Summer"));
+        albums.add(album(2L, "Summer"));
+        albums.add(album(3L, "Sunday"));
+        albums.add(album(4L, null));
+
+        AlbumRepository albumRepository = mock(AlbumRepository.class);
+        when(albumRepository.streamAllSummaries()).thenAnswer(invocation -> new ArrayList<>(albums).stream());
+        when(albumRepository.findSummaryById(any())).thenAnswer(invocation ->
+            albums.stream().filter(album -> album.id().equals(invocation.getArgument(0))).findFirst()
+        );
+
+        albumEventIndex = new AlbumEventIndex(albumRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void shouldSuggestTheEventsWithTheMostAlbumsFirst() {
+        assertThat(suggest("su")).containsExactly("Summer:2", "Sunday:1");
+    }
+
+    @Test
+    void shouldRepairDifferencesWithDatabase() {
+        suggest("");
+        // Changed on another instance of the application
+        albums.set(0, album(1L, "Sunday"));
+        albums.remove(1);
+        albums.set(2, album(4L, "Birthday"));
+
+        assertThat(albumEventIndex.checkConsistency()).isEqualTo(3);
+        assertThat(albumEventIndex.checkConsistency()).isZero();
+        assertThat(suggest("")).containsExactly("Sunday:2", "Birthday:1");
+    }
+
+    private List<String> suggest(String prefix) {
+        return albumEventIndex.suggest(prefix, 10).stream().map(event -> event.getEvent() + ":" + event.getAlbumCount()).toList();
+    }
+
+    private static AlbumSummary album(Long id, String event) {
+        return new AlbumSummary(id, "Album " + id, event, Instant.parse("2024-07-01T00:00:00Z"), null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.Album;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.BlobStore;
+import com.mycompany.myapp.service.dto.AlbumImportResultDTO;
+import com.mycompany.myapp.service.mapper.AlbumMapperImpl;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AlbumImportServiceTest {
+
+    // More albums than the queue of the executor holds
+    private static final int ALBUMS = 10_000 + AlbumImportService.CHUNK_SIZE / 2;
+
+    private final List<Object> events = new ArrayList<>();
+
+    private AlbumImportService albumImportService;
+
+    @BeforeEach
+    void setup() {
+        AtomicLong ids = new AtomicLong();
+        AlbumRepository albumRepository = mock(AlbumRepository.class);
+        when(albumRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Album> albums = invocation.getArgument(0);
+            albums.forEach(album -> album.setId(ids.incrementAndGet()));
+            return albums;
+        });
+
+        albumImportService = new AlbumImportService(
+            albumRepository,
+            mock(BlobStore.class),
+            new AlbumMapperImpl(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            mock(PlatformTransactionManager.class),
+            events::add
+        );
+    }
+
+    @Test
+    void shouldPublishOneEventPerChunk() throws Exception {
+        String body = IntStream.range(0, ALBUMS)
+            .mapToObj(i -> "{\"name\": \"Imported " + i + "\", \"creationDate\": \"2020-01-01T00:00:00Z\"}")
+            .collect(Collectors.joining("\n"));
+
+        AlbumImportResultDTO result = albumImportService.importAlbums(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(ALBUMS);
+        assertThat(events).hasSize(21).allMatch(AlbumsImportedEvent.class::isInstance);
+        assertThat(events.stream().mapToInt(event -> ((AlbumsImportedEvent) event).albumIds().size()).sum()).isEqualTo(ALBUMS);
+    }
+}
@@ -0,0 +1,89 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AlbumIndexUpdaterTest {
+
+    private AlbumRepository albumRepository;
+
+    private AlbumSearchIndex albumSearchIndex;
+
+    private AlbumTimelineService albumTimelineService;
+
+    private AlbumEventIndex albumEventIndex;
+
+    private AlbumIndexUpdater albumIndexUpdater;
+
+    @BeforeEach
+    void setup() {
+        albumRepository = mock(AlbumRepository.class);
+        albumSearchIndex = mock(AlbumSearchIndex.class);
+        albumTimelineService = mock(AlbumTimelineService.class);
+        albumEventIndex = mock(AlbumEventIndex.class);
+        albumIndexUpdater = new AlbumIndexUpdater(
+            albumRepository,
+            albumSearchIndex,
+            albumTimelineService,
+            albumEventIndex,
+            Runnable::run
+        );
+    }
+
+    @Test
+    void shouldReadTheAlbumOnceForAllTheIndexes() {
+        Optional<AlbumSummary> album = Optional.of(
+            new AlbumSummary(1L, "Summer", "Beach", Instant.parse("2024-07-01T00:00:00Z"), null, null, null, null, null, null)
+        );
+        when(albumRepository.findSummaryById(1L)).thenReturn(album);
+
+        albumIndexUpdater.onAlbumChanged(new AlbumChangedEvent(1L));
+
+        verify(albumRepository, times(1)).findSummaryById(1L);
+        verify(albumSearchIndex).onAlbumChanged(1L, album);
+        verify(albumTimelineService).onAlbumChanged(1L, album);
+        verify(albumEventIndex).onAlbumChanged(1L, album);
+    }
+
+    @Test
+    void shouldReadTheImportedAlbumsWithOneQuery() {
+        AlbumSummary album = new AlbumSummary(
+            1L,
+            "Summer",
+            "Beach",
+            Instant.parse("2024-07-01T00:00:00Z"),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+        when(albumRepository.findSummariesByIdIn(List.of(1L, 2L))).thenReturn(List.of(album));
+
+        albumIndexUpdater.onAlbumsImported(new AlbumsImportedEvent(List.of(1L, 2L), Set.of(), List.of()));
+
+        verify(albumRepository, never()).findSummaryById(any());
+        verify(albumSearchIndex).onAlbumChanged(1L, Optional.of(album));
+        verify(albumTimelineService).onAlbumChanged(1L, Optional.of(album));
+        verify(albumEventIndex).onAlbumChanged(2L, Optional.empty());
+    }
+
+    @Test
+    void shouldNotFailTheCommittedChange() {
+        when(albumRepository.findSummaryById(1L)).thenThrow(new IllegalStateException("Connection refused"));
+
+        assertThatCode(() -> albumIndexUpdater.onAlbumChanged(new AlbumChangedEvent(1L))).doesNotThrowAnyException();
+        verifyNoInteractions(albumSearchIndex, albumTimelineService, albumEventIndex);
+    }
+}
@@ -0,0 +1,150 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AlbumSearchIndexTest {
+
+    @TempDir
+    private Path snapshotDirectory;
+
+    private final List<AlbumSummary> albums = new ArrayList<>();
+
+    private AlbumRepository albumRepository;
+
+    private AlbumSearchIndex albumSearchIndex;
+
+    @BeforeEach
+    void setup() {
+        albums.add(album(1L, "Summer Holidays", "Beach"));
+        albums.add(album(2L, "Beach volleyball", "Summer"));
+        albums.add(album(3L, "Crème brûlée", null));
+        albums.add(album(4L, "Summer", "Garden"));
+        albums.add(album(5L, "Holiday in Seoul", "Trips 2024"));
+
+        albumRepository = mock(AlbumRepository.class);
+        when(albumRepository.streamAllSummaries()).thenAnswer(invocation -> new ArrayList<>(albums).stream());
+        when(albumRepository.findSummaryById(any())).thenAnswer(invocation ->
+            albums.stream().filter(album -> album.id().equals(invocation.getArgument(0))).findFirst()
+        );
+        when(albumRepository.count()).thenAnswer(invocation -> (long) albums.size());
+        when(albumRepository.findMaxId()).thenAnswer(invocation -> albums.stream().map(AlbumSummary::id).max(Long::compare));
+
+        albumSearchIndex = newIndex();
+    }
+
+    @Test
+    void shouldRankNameMatchesFirst() {
+        AlbumSearchIndex.SearchHits hits = albumSearchIndex.search("summer", 0, 10);
+
+        // Exact name, then name prefix, then event
+        assertThat(hits.ids()).containsExactly(4L, 1L, 2L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldMatchAllTermsInsideWordsIgnoringCaseAndAccents() {
+        assertThat(albumSearchIndex.search("CREME brul", 0, 10).ids()).containsExactly(3L);
+        assertThat(albumSearchIndex.search("olida", 0, 10).ids()).containsExactly(5L, 1L);
+        assertThat(albumSearchIndex.search("holiday 2024", 0, 10).ids()).containsExactly(5L);
+        assertThat(albumSearchIndex.search("holiday garden", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void shouldMatchShortTermsAtTheStartOfWords() {
+        assertThat(albumSearchIndex.search("se", 0, 10).ids()).containsExactly(5L);
+        assertThat(albumSearchIndex.search("ul", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void shouldPaginateResults() {
+        AlbumSearchIndex.SearchHits hits = albumSearchIndex.search("summer", 1, 1);
+
+        assertThat(hits.ids()).containsExactly(1L);
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(albumSearchIndex.search("  ", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void shouldApplyCommittedChanges() {
+        albumSearchIndex.search("summer", 0, 10);
+        albums.set(3, album(4L, "Winter", "Garden"));
+        albums.remove(0);
+        albums.add(album(6L, "Summertime", null));
+
+        onAlbumChanged(4L);
+        onAlbumChanged(1L);
+        onAlbumChanged(6L);
+
+        assertThat(albumSearchIndex.size()).isEqualTo(5);
+        assertThat(albumSearchIndex.search("summer", 0, 10).ids()).containsExactly(6L, 2L);
+        assertThat(albumSearchIndex.search("winter", 0, 10).ids()).containsExactly(4L);
+    }
+
+    @Test
+    void shouldLoadFromUpToDateSnapshot() {
+        albumSearchIndex.search("summer", 0, 10);
+        albumSearchIndex.writeSnapshot();
+
+        AlbumSearchIndex loaded = newIndex();
+
+        assertThat(loaded.search("summer", 0, 10).ids()).containsExactly(4L, 1L, 2L);
+        assertThat(loaded.search("creme", 0, 10).ids()).containsExactly(3L);
+        verify(albumRepository, times(1)).streamAllSummaries();
+    }
+
+    @Test
+    void shouldRebuildFromDatabaseWhenSnapshotIsOutdated() {
+        albumSearchIndex.search("summer", 0, 10);
+        albumSearchIndex.writeSnapshot();
+        albums.add(album(6L, "Summertime", null));
+
+        AlbumSearchIndex loaded = newIndex();
+
+        assertThat(loaded.search("summer", 0, 10).ids()).containsExactly(4L, 1L, 6L, 2L);
+        verify(albumRepository, times(2)).streamAllSummaries();
+    }
+
+    @Test
+    void shouldRepairDifferencesWithDatabase() {
+        albumSearchIndex.search("summer", 0, 10);
+        albums.set(0, album(1L, "Renamed", "Beach"));
+        albums.add(album(6L, "Summertime", null));
+
+        assertThat(albumSearchIndex.checkConsistency()).isEqualTo(2);
+        assertThat(albumSearchIndex.checkConsistency()).isZero();
+        assertThat(albumSearchIndex.search("summer", 0, 10).ids()).containsExactly(4L, 6L, 2L);
+        verify(albumRepository, never()).findSummaryById(5L);
+    }
+
+    private AlbumSearchIndex newIndex() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSearchIndex().setPath(snapshotDirectory.toString());
+        return new AlbumSearchIndex(albumRepository, mock(PlatformTransactionManager.class), applicationProperties);
+    }
+
+    private static AlbumSummary album(Long id, String name, String event) {
+        return new AlbumSummary(id, name, event, Instant.EPOCH, null, null, null, null, null, null);
+    }
+
+    private void onAlbumChanged(Long albumId) {
+        albumSearchIndex.onAlbumChanged(albumId, albumRepository.findSummaryById(albumId));
+    }
+}
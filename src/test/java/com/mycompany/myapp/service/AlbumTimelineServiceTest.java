@@ -0,0 +1,131 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import com.mycompany.myapp.service.dto.AlbumTimelineDTO;
+import com.mycompany.myapp.service.dto.AlbumTimelineDTO.EventCount;
+import com.mycompany.myapp.service.dto.AlbumTimelineDTO.MonthCount;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AlbumTimelineServiceTest {
+
+    private final List<AlbumSummary> albums = new ArrayList<>();
+
+    private AlbumTimelineService albumTimelineService;
+
+    @BeforeEach
+    void setup() {
+        albums.add(album(1L, "Summer", "2024-07-01T10:00:00Z", null));
+        albums.add(album(2L, "Summer", "2024-07-31T23:59:59Z", null));
+        albums.add(album(3L, "Summer", "2024-06-15T00:00:00Z", "2024-08-01T00:00:00Z"));
+        albums.add(album(4L, null, "2023-12-31T12:00:00Z", null));
+
+        AlbumRepository albumRepository = mock(AlbumRepository.class);
+        when(albumRepository.streamAllSummaries()).thenAnswer(invocation -> new ArrayList<>(albums).stream());
+        when(albumRepository.findSummaryById(any())).thenAnswer(invocation ->
+            albums.stream().filter(album -> album.id().equals(invocation.getArgument(0))).findFirst()
+        );
+
+        albumTimelineService = new AlbumTimelineService(albumRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void shouldCountAlbumsPerMonthOfEffectiveDateAndPerEvent() {
+        AlbumTimelineDTO timeline = albumTimelineService.getTimeline();
+
+        assertThat(timeline.getTotal()).isEqualTo(4);
+        assertThat(timeline.getMonths()).containsExactly(
+            new MonthCount(2023, 12, 1),
+            new MonthCount(2024, 7, 2),
+            new MonthCount(2024, 8, 1)
+        );
+        assertThat(timeline.getEvents()).containsExactly(new EventCount("Summer", 3), new EventCount(null, 1));
+    }
+
+    @Test
+    void shouldMaintainCountsIncrementally() {
+        AlbumCollectionVersion loadedVersion = albumTimelineService.getCurrentVersion();
+        AlbumTimelineDTO loadedTimeline = albumTimelineService.getTimeline();
+
+        albums.set(0, album(1L, "Birthday", "2024-08-02T00:00:00Z", null));
+        albums.remove(3);
+        albums.add(album(5L, "Summer", "2024-07-05T00:00:00Z", null));
+        onAlbumChanged(1L);
+        onAlbumChanged(4L);
+        onAlbumChanged(5L);
+
+        AlbumTimelineDTO timeline = albumTimelineService.getTimeline();
+        assertThat(timeline).isNotSameAs(loadedTimeline);
+        assertThat(albumTimelineService.getCurrentVersion().number()).isEqualTo(loadedVersion.number() + 3);
+        assertThat(timeline.getTotal()).isEqualTo(4);
+        assertThat(timeline.getMonths()).containsExactly(new MonthCount(2024, 7, 2), new MonthCount(2024, 8, 2));
+        assertThat(timeline.getEvents()).containsExactly(new EventCount("Birthday", 1), new EventCount("Summer", 3));
+    }
+
+    @Test
+    void shouldIgnoreChangesWhichDoNotMoveAlbums() {
+        AlbumCollectionVersion loadedVersion = albumTimelineService.getCurrentVersion();
+        AlbumTimelineDTO loadedTimeline = albumTimelineService.getTimeline();
+
+        albums.set(1, album(2L, "Summer", "2024-07-02T00:00:00Z", null));
+        onAlbumChanged(2L);
+        onAlbumChanged(2L);
+
+        assertThat(albumTimelineService.getCurrentVersion()).isEqualTo(loadedVersion);
+        assertThat(albumTimelineService.getTimeline()).isSameAs(loadedTimeline);
+    }
+
+    @Test
+    void shouldReadChangesMadeBeforeLoadingWithTheOtherAlbums() {
+        albums.add(album(5L, "Winter", "2024-01-01T00:00:00Z", null));
+        onAlbumChanged(5L);
+
+        AlbumTimelineDTO timeline = albumTimelineService.getTimeline();
+        assertThat(timeline.getTotal()).isEqualTo(5);
+        assertThat(timeline.getEvents()).contains(new EventCount("Winter", 1));
+    }
+
+    @Test
+    void shouldRepairDifferencesWithDatabase() {
+        albumTimelineService.getTimeline();
+        // Changed on another instance of the application
+        albums.set(0, album(1L, "Birthday", "2024-07-01T10:00:00Z", null));
+        albums.remove(3);
+
+        assertThat(albumTimelineService.checkConsistency()).isEqualTo(2);
+        assertThat(albumTimelineService.checkConsistency()).isZero();
+        AlbumTimelineDTO timeline = albumTimelineService.getTimeline();
+        assertThat(timeline.getTotal()).isEqualTo(3);
+        assertThat(timeline.getMonths()).containsExactly(new MonthCount(2024, 7, 2), new MonthCount(2024, 8, 1));
+        assertThat(timeline.getEvents()).containsExactly(new EventCount("Birthday", 1), new EventCount("Summer", 2));
+    }
+
+    private static AlbumSummary album(Long id, String event, String creationDate, String overrideDate) {
+        return new AlbumSummary(
+            id,
+            "Album " + id,
+            event,
+            Instant.parse(creationDate),
+            overrideDate != null ? Instant.parse(overrideDate) : null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    private void onAlbumChanged(Long albumId) {
+        albumTimelineService.onAlbumChanged(albumId, albums.stream().filter(album -> album.id().equals(albumId)).findFirst());
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.service.EventTrie.Completion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventTrieTest {
+
+    private EventTrie trie;
+
+    @BeforeEach
+    void setup() {
+        trie = new EventTrie();
+        trie.add("Summer");
+        trie.add("Summer");
+        trie.add("summer");
+        trie.add("Sum");
+        trie.add("Sunday brunch");
+        trie.add("Birthday");
+        trie.add("Birthday");
+        trie.add("Birthday");
+    }
+
+    @Test
+    void shouldCompletePrefixIgnoringCaseMostUsedFirst() {
+        assertThat(trie.size()).isEqualTo(5);
+        assertThat(trie.complete("SU", 10)).containsExactly(
+            new Completion("Summer", 2),
+            new Completion("Sum", 1),
+            new Completion("Sunday brunch", 1),
+            new Completion("summer", 1)
+        );
+        assertThat(trie.complete("summ", 10)).containsExactly(new Completion("Summer", 2), new Completion("summer", 1));
+        assertThat(trie.complete("sunday b", 10)).containsExactly(new Completion("Sunday brunch", 1));
+        assertThat(trie.complete("summit", 10)).isEmpty();
+        assertThat(trie.complete("x", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldLimitCompletions() {
+        assertThat(trie.complete("", 2)).containsExactly(new Completion("Birthday", 3), new Completion("Summer", 2));
+    }
+
+    @Test
+    void shouldRemoveEventsWithTheirLastAlbum() {
+        trie.remove("Summer");
+        trie.remove("summer");
+        trie.remove("Sum");
+        trie.remove("Unknown");
+
+        assertThat(trie.size()).isEqualTo(3);
+        assertThat(trie.complete("su", 10)).containsExactly(new Completion("Summer", 1), new Completion("Sunday brunch", 1));
+
+        trie.remove("Summer");
+        trie.remove("Sunday brunch");
+
+        assertThat(trie.complete("s", 10)).isEmpty();
+        assertThat(trie.complete("", 10)).containsExactly(new Completion("Birthday", 3));
+
+        // The merged nodes are split again by new events
+        trie.add("Sunset");
+        trie.add("Sun");
+        assertThat(trie.complete("sun", 10)).containsExactly(new Completion("Sun", 1), new Completion("Sunset", 1));
+    }
+}
@@ -0,0 +1,61 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class GalleryCursorTest {
+
+    @Test
+    void shouldRoundTripEventCursor() {
+        GalleryCursor cursor = GalleryCursor.decode(GalleryCursor.afterEvent("Summer 2023", "Beach", 42L).encode(), GallerySortType.EVENT);
+
+        assertThat(cursor.getSortType()).isEqualTo(GallerySortType.EVENT);
+        assertThat(cursor.getSource()).isEqualTo(GalleryCursor.Source.DATABASE);
+        assertThat(cursor.getEvent()).isEqualTo("Summer 2023");
+        assertThat(cursor.getName()).isEqualTo("Beach");
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void shouldRoundTripEventCursorWithoutEvent() {
+        GalleryCursor cursor = GalleryCursor.decode(GalleryCursor.afterEvent(null, "Beach", 42L).encode(), GallerySortType.EVENT);
+
+        assertThat(cursor.getEvent()).isNull();
+        assertThat(cursor.getName()).isEqualTo("Beach");
+    }
+
+    @Test
+    void shouldRoundTripDateCursor() {
+        Instant effectiveDate = Instant.parse("2023-07-15T10:00:00.123456Z");
+        GalleryCursor cursor = GalleryCursor.decode(GalleryCursor.afterDate(effectiveDate, 7L).encode(), GallerySortType.DATE);
+
+        assertThat(cursor.getSortType()).isEqualTo(GallerySortType.DATE);
+        assertThat(cursor.getEffectiveDate()).isEqualTo(effectiveDate);
+        assertThat(cursor.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void shouldRoundTripSourceOfCursor() {
+        String token = GalleryCursor.afterEvent(GalleryCursor.Source.INDEX, "Summer 2023", "Beach", 42L).encode();
+
+        assertThat(GalleryCursor.decode(token, GallerySortType.EVENT).getSource()).isEqualTo(GalleryCursor.Source.INDEX);
+    }
+
+    @Test
+    void shouldRejectCursorOfAnotherSort() {
+        String token = GalleryCursor.afterDate(Instant.now(), 7L).encode();
+
+        assertThatThrownBy(() -> GalleryCursor.decode(token, GallerySortType.EVENT)).isInstanceOf(InvalidGalleryCursorException.class);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> GalleryCursor.decode("not a cursor", GallerySortType.EVENT)).isInstanceOf(
+            InvalidGalleryCursorException.class
+        );
+        assertThatThrownBy(() -> GalleryCursor.decode("AQA", GallerySortType.EVENT)).isInstanceOf(InvalidGalleryCursorException.class);
+    }
+}
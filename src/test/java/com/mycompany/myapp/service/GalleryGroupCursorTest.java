@@ -0,0 +1,31 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class GalleryGroupCursorTest {
+
+    @Test
+    void shouldRoundTripGroupCursor() {
+        GalleryGroupCursor cursor = GalleryGroupCursor.decode(GalleryGroupCursor.afterEvent("Summer 2023").encode());
+
+        assertThat(cursor.getEvent()).isEqualTo("Summer 2023");
+    }
+
+    @Test
+    void shouldRejectAlbumCursor() {
+        String token = GalleryCursor.afterEvent("Summer 2023", "Beach", 42L).encode();
+
+        assertThatThrownBy(() -> GalleryGroupCursor.decode(token)).isInstanceOf(InvalidGalleryCursorException.class);
+        assertThatThrownBy(() -> GalleryCursor.decode(GalleryGroupCursor.afterEvent("Summer 2023").encode(), GallerySortType.EVENT)).isInstanceOf(
+            InvalidGalleryCursorException.class
+        );
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> GalleryGroupCursor.decode("not-a-cursor")).isInstanceOf(InvalidGalleryCursorException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+class GalleryIndexTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final List<AlbumSummary> albums = new ArrayList<>();
+
+    private AlbumRepository albumRepository;
+
+    private GalleryIndex galleryIndex;
+
+    @BeforeEach
+    void setup() {
+        albums.add(album(1L, "Summer", "Beach", BASE.plusSeconds(10)));
+        albums.add(album(2L, "Summer", "Beach", BASE.plusSeconds(30)));
+        albums.add(album(3L, "Summer", "Aquarium", BASE.plusSeconds(20)));
+        albums.add(album(4L, "Birthday", "Cake", BASE.plusSeconds(20)));
+        albums.add(album(5L, null, "Misc", BASE));
+        albums.add(album(6L, null, "Another", BASE.plusSeconds(40)));
+
+        albumRepository = mock(AlbumRepository.class);
+        when(albumRepository.findGalleryByDate(any(Pageable.class))).thenAnswer(invocation ->
+            albums.stream().sorted(Comparator.comparing(AlbumSummary::effectiveDate).thenComparing(AlbumSummary::id).reversed()).toList()
+        );
+        when(albumRepository.findSummaryById(any())).thenAnswer(invocation ->
+            albums.stream().filter(album -> album.id().equals(invocation.getArgument(0))).findFirst()
+        );
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getGalleryIndex().setEnabled(true);
+        galleryIndex = new GalleryIndex(albumRepository, applicationProperties);
+        galleryIndex.rebuild();
+    }
+
+    @Test
+    void shouldServeGalleryByEventWithAlbumsWithoutEventLast() {
+        assertThat(galleryIndex.isReady()).isTrue();
+        assertThat(ids(galleryIndex.findByEvent(null, 10))).containsExactly(4L, 3L, 1L, 2L, 6L, 5L);
+        assertThat(ids(galleryIndex.findByEvent(GalleryCursor.afterEvent("Summer", "Beach", 1L), 2))).containsExactly(2L, 6L);
+        assertThat(ids(galleryIndex.findByEvent(GalleryCursor.afterEvent(null, "Another", 6L), 10))).containsExactly(5L);
+    }
+
+    @Test
+    void shouldServeGalleryByDateMostRecentFirst() {
+        assertThat(ids(galleryIndex.findByDate(null, 10))).containsExactly(6L, 2L, 4L, 3L, 1L, 5L);
+        assertThat(ids(galleryIndex.findByDate(GalleryCursor.afterDate(BASE.plusSeconds(20), 4L), 10))).containsExactly(3L, 1L, 5L);
+    }
+
+    @Test
+    void shouldServeAlbumsOfOneEvent() {
+        assertThat(ids(galleryIndex.findInEvent(GalleryCursor.afterEvent("Summer", "Aquarium", 3L), 10))).containsExactly(1L, 2L);
+        assertThat(ids(galleryIndex.findInEvent(GalleryCursor.afterEvent("Birthday", "Cake", 4L), 10))).isEmpty();
+        assertThat(ids(galleryIndex.findInEvent(GalleryCursor.afterEvent(null, "Another", 6L), 10))).containsExactly(5L);
+    }
+
+    @Test
+    void shouldApplyCommittedChanges() {
+        albums.set(0, album(1L, "Birthday", "Balloons", BASE.plusSeconds(50)));
+        albums.remove(4);
+        albums.add(album(7L, "Winter", "Snow", BASE.plusSeconds(5)));
+
+        galleryIndex.onAlbumChanged(new AlbumChangedEvent(1L));
+        galleryIndex.onAlbumChanged(new AlbumChangedEvent(5L));
+        galleryIndex.onAlbumChanged(new AlbumChangedEvent(7L));
+
+        assertThat(galleryIndex.size()).isEqualTo(6);
+        assertThat(ids(galleryIndex.findByEvent(null, 10))).containsExactly(1L, 4L, 3L, 2L, 7L, 6L);
+        assertThat(ids(galleryIndex.findByDate(null, 10))).containsExactly(1L, 6L, 2L, 4L, 3L, 7L);
+    }
+
+    @Test
+    void shouldRepairDifferencesWithDatabase() {
+        albums.set(0, album(1L, "Summer", "Renamed", BASE.plusSeconds(10)));
+        albums.remove(4);
+        albums.add(album(7L, "Winter", "Snow", BASE.plusSeconds(5)));
+
+        assertThat(galleryIndex.checkConsistency()).isEqualTo(3);
+        assertThat(galleryIndex.checkConsistency()).isZero();
+        assertThat(ids(galleryIndex.findByEvent(null, 10))).containsExactly(4L, 3L, 2L, 1L, 7L, 6L);
+    }
+
+    private static AlbumSummary album(Long id, String event, String name, Instant creationDate) {
+        return new AlbumSummary(id, name, event, creationDate, null, null, null, null, null, null);
+    }
+
+    private static List<Long> ids(List<AlbumSummary> albums) {
+        return albums.stream().map(AlbumSummary::id).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.service.ThumbnailRenderer.Rendition;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class ThumbnailRendererTest {
+
+    @Test
+    void shouldRenderAllSmallerSizes() throws IOException {
+        List<Rendition> renditions = ThumbnailRenderer.render(png(3000, 1500, BufferedImage.TYPE_INT_RGB));
+
+        assertThat(renditions).extracting(Rendition::size).containsExactly(1024, 256, 64);
+        renditions.forEach(rendition -> {
+            assertThat(rendition.contentType()).isEqualTo("image/jpeg");
+            BufferedImage image = read(rendition.data());
+            assertThat(image.getWidth()).isEqualTo(rendition.size());
+            assertThat(image.getHeight()).isEqualTo(rendition.size() / 2);
+        });
+    }
+
+    @Test
+    void shouldNotUpscale() throws IOException {
+        List<Rendition> renditions = ThumbnailRenderer.render(png(100, 200, BufferedImage.TYPE_INT_ARGB));
+
+        assertThat(renditions).extracting(Rendition::size).containsExactly(64);
+        assertThat(renditions.get(0).contentType()).isEqualTo("image/png");
+        BufferedImage image = read(renditions.get(0).data());
+        assertThat(image.getWidth()).isEqualTo(32);
+        assertThat(image.getHeight()).isEqualTo(64);
+    }
+
+    @Test
+    void shouldIgnoreUnsupportedContent() throws IOException {
+        assertThat(ThumbnailRenderer.render(new ByteArrayInputStream("not an image".getBytes()))).isEmpty();
+    }
+
+    private static ByteArrayInputStream png(int width, int height, int type) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, type), "png", bytes);
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    private static BufferedImage read(byte[] data) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -2,6 +2,10 @@ package com.mycompany.myapp.service.mapper;
 
 import static com.mycompany.myapp.domain.AlbumAsserts.*;
 import static com.mycompany.myapp.domain.AlbumTestSamples.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.repository.AlbumSummary;
+import java.time.Instant;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,4 +25,21 @@ class AlbumMapperTest {
         var actual = albumMapper.toEntity(albumMapper.toDto(expected));
         assertAlbumAllPropertiesEquals(expected, actual);
     }
+
+    @Test
+    void shouldConvertSummaryToDto() {
+        var summary = new AlbumSummary(1L, "name1", "event1", Instant.EPOCH, null, "image/png", 3L, "abc", 2L, "user2");
+        var actual = albumMapper.toSummaryDto(summary);
+        assertThat(actual.getId()).isEqualTo(1L);
+        assertThat(actual.getThumbnailSize()).isEqualTo(3L);
+        assertThat(actual.getThumbnailHash()).isEqualTo("abc");
+        assertThat(actual.getUser().getId()).isEqualTo(2L);
+        assertThat(actual.getUser().getLogin()).isEqualTo("user2");
+    }
+
+    @Test
+    void shouldConvertSummaryWithoutOwnerToDto() {
+        var summary = new AlbumSummary(1L, "name1", null, Instant.EPOCH, null, null, null, null, null);
+        assertThat(albumMapper.toSummaryDto(summary).getUser()).isNull();
+    }
 }
@@ -3,26 +3,52 @@ package com.mycompany.myapp.web.rest;
 import static com.mycompany.myapp.domain.AlbumAsserts.*;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Album;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.AlbumChangeRepository;
+import com.mycompany.myapp.repository.AlbumGalleryViewRepository;
 import com.mycompany.myapp.repository.AlbumRepository;
+import com.mycompany.myapp.repository.BlobStore;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.AlbumGalleryViewService;
+import com.mycompany.myapp.service.AlbumRenditionService;
 import com.mycompany.myapp.service.AlbumService;
+import com.mycompany.myapp.service.GallerySliceCache;
 import com.mycompany.myapp.service.dto.AlbumDTO;
+import com.mycompany.myapp.service.dto.AlbumSummaryDTO;
+import com.mycompany.myapp.service.dto.UserDTO;
 import com.mycompany.myapp.service.mapper.AlbumMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import javax.imageio.ImageIO;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,11 +57,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -64,6 +94,8 @@ class AlbumResourceIT {
     private static final String DEFAULT_THUMBNAIL_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_THUMBNAIL_CONTENT_TYPE = "image/png";
 
+    private static final String IMPORT_EVENT = "Imported by AlbumResourceIT";
+
     private static final String ENTITY_API_URL = "/api/albums";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -85,6 +117,27 @@ class AlbumResourceIT {
     @Autowired
     private AlbumMapper albumMapper;
 
+    @Autowired
+    private AlbumRenditionService albumRenditionService;
+
+    @Autowired
+    private AlbumChangeRepository albumChangeRepository;
+
+    @Autowired
+    private AlbumGalleryViewService albumGalleryViewService;
+
+    @Autowired
+    private AlbumGalleryViewRepository albumGalleryViewRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Mock
     private AlbumService albumServiceMock;
 
@@ -138,7 +191,7 @@ class AlbumResourceIT {
     @AfterEach
     void cleanup() {
         if (insertedAlbum != null) {
-            albumRepository.delete(insertedAlbum);
+            albumRepository.deleteById(insertedAlbum.getId());
             insertedAlbum = null;
         }
     }
@@ -163,6 +216,7 @@ class AlbumResourceIT {
         assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
         var returnedAlbum = albumMapper.toEntity(returnedAlbumDTO);
         assertAlbumUpdatableFieldsEquals(returnedAlbum, getPersistedAlbum(returnedAlbum));
+        assertThat(blobStore.read(returnedAlbum.getThumbnailHash())).hasValue(DEFAULT_THUMBNAIL);
 
         insertedAlbum = returnedAlbum;
     }
@@ -185,6 +239,61 @@ class AlbumResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void importAlbums() throws Exception {
+        long databaseSizeBeforeImport = getRepositoryCount();
+        String body = String.join(
+            "\n",
+            "{\"name\": \"Imported first\", \"event\": \"" + IMPORT_EVENT + "\", \"creationDate\": \"2020-01-01T00:00:00Z\"}",
+            "",
+            "{not json",
+            "{\"name\": \"ab\", \"event\": \"" + IMPORT_EVENT + "\", \"creationDate\": \"2020-01-01T00:00:00Z\"}",
+            "{\"id\": 1, \"name\": \"Imported with id\", \"event\": \"" + IMPORT_EVENT + "\", \"creationDate\": \"2020-01-01T00:00:00Z\"}",
+            "{\"name\": \"Imported for nobody\", \"event\": \"" +
+            IMPORT_EVENT +
+            "\", \"creationDate\": \"2020-01-01T00:00:00Z\", \"user\": {\"id\": " +
+            Long.MAX_VALUE +
+            "}}",
+            "{\"name\": \"Imported last\", \"event\": \"" + IMPORT_EVENT + "\", \"creationDate\": \"2020-01-02T00:00:00Z\"}"
+        );
+
+        try {
+            restAlbumMockMvc
+                .perform(post(ENTITY_API_URL + "/_import").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.failures.[*].line").value(contains(3, 4, 5, 6)));
+
+            assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeImport + 2);
+            assertThat(findImportedAlbums().stream().map(Album::getName)).containsExactlyInAnyOrder("Imported first", "Imported last");
+
+            // The chunk is refreshed in the gallery view and in the indexes as a batch, once committed
+            for (Album imported : findImportedAlbums()) {
+                assertThat(albumGalleryViewRepository.findById(imported.getId())).hasValueSatisfying(summary ->
+                    assertThat(summary.name()).isEqualTo(imported.getName())
+                );
+            }
+            restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/events").param("prefix", IMPORT_EVENT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].event").value(contains(IMPORT_EVENT)))
+                .andExpect(jsonPath("$.[*].albumCount").value(contains(2)));
+        } finally {
+            for (Album imported : findImportedAlbums()) {
+                restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, imported.getId())).andExpect(status().isNoContent());
+            }
+        }
+    }
+
+    @Test
+    void importAlbumsRequiresAdmin() throws Exception {
+        restAlbumMockMvc
+            .perform(post(ENTITY_API_URL + "/_import").contentType(MediaType.APPLICATION_NDJSON).content("{}"))
+            .andExpect(status().isForbidden());
+    }
+
     @Test
     @Transactional
     void checkNameIsRequired() throws Exception {
@@ -236,7 +345,145 @@ class AlbumResourceIT {
             .andExpect(jsonPath("$.[*].creationDate").value(hasItem(DEFAULT_CREATION_DATE.toString())))
             .andExpect(jsonPath("$.[*].overrideDate").value(hasItem(DEFAULT_OVERRIDE_DATE.toString())))
             .andExpect(jsonPath("$.[*].thumbnailContentType").value(hasItem(DEFAULT_THUMBNAIL_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].thumbnail").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_THUMBNAIL))));
+            .andExpect(jsonPath("$.[*].thumbnailSize").value(hasItem(DEFAULT_THUMBNAIL.length)))
+            .andExpect(jsonPath("$.[*].thumbnailHash").value(hasItem(album.getThumbnailHash())))
+            .andExpect(jsonPath("$.[*].thumbnail").doesNotExist());
+    }
+
+    @Test
+    void searchAlbums() throws Exception {
+        // Create the albums through the API, so they are indexed once their creation is committed
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (String name : List.of("Zyxwv anniversary", "Dinner at Zyxwvuts", "Unrelated")) {
+                album.setName(name);
+                byte[] newAlbum = om.writeValueAsBytes(albumMapper.toDto(album));
+                String created = restAlbumMockMvc
+                    .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(newAlbum))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+                ids.add(om.readValue(created, AlbumDTO.class).getId());
+            }
+
+            restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?query=ZYXWV&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.[*].id").value(contains(ids.get(0).intValue())))
+                .andExpect(jsonPath("$.[*].thumbnail").doesNotExist());
+            restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/_search?query=xwvu dinner"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(ids.get(1).intValue())));
+        } finally {
+            for (Long id : ids) {
+                restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+            }
+        }
+
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "/_search?query=zyxwv")).andExpect(status().isOk()).andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void getEvents() throws Exception {
+        // Create the album through the API, so its event is indexed once its creation is committed
+        album.setEvent("Qwzx reunion");
+        byte[] newAlbum = om.writeValueAsBytes(albumMapper.toDto(album));
+        String created = restAlbumMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(newAlbum))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        Long id = om.readValue(created, AlbumDTO.class).getId();
+        try {
+            restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/events?prefix=QWZX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].event").value(contains("Qwzx reunion")))
+                .andExpect(jsonPath("$.[*].albumCount").value(contains(1)));
+        } finally {
+            restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+        }
+
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "/events?prefix=qwzx")).andExpect(status().isOk()).andExpect(jsonPath("$").isEmpty());
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "/events?size=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchAlbumsWithBlankQuery() throws Exception {
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "/_search?query= ")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportAlbumsAsNdjson() throws Exception {
+        // Initialize the database, committed as the export is read on another thread
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        MvcResult result = restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = restAlbumMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"albums.ndjson\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+
+        List<JsonNode> lines = body.lines().map(this::readTree).toList();
+        assertThat(lines).hasSize((int) getRepositoryCount());
+        assertThat(lines.stream().map(line -> line.get("id").asLong())).isSorted();
+        JsonNode exported = lines.stream().filter(line -> line.get("id").asLong() == album.getId()).findFirst().orElseThrow();
+        assertThat(exported.get("name").asText()).isEqualTo(DEFAULT_NAME);
+        assertThat(exported.get("thumbnailHash").asText()).isEqualTo(album.getThumbnailHash());
+        assertThat(exported.has("thumbnail")).isFalse();
+    }
+
+    @Test
+    void exportAlbumsAsCsv() throws Exception {
+        // Initialize the database, committed as the export is read on another thread
+        album.setName("Quoted \"name\", with comma");
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        MvcResult result = restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = restAlbumMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize((int) getRepositoryCount() + 1);
+        assertThat(lines.get(0)).startsWith("id,name,event,");
+        assertThat(lines).contains(
+            album.getId() +
+            ",\"Quoted \"\"name\"\", with comma\"," +
+            DEFAULT_EVENT +
+            "," +
+            DEFAULT_CREATION_DATE +
+            "," +
+            DEFAULT_OVERRIDE_DATE +
+            "," +
+            DEFAULT_OVERRIDE_DATE +
+            "," +
+            DEFAULT_THUMBNAIL_CONTENT_TYPE +
+            "," +
+            DEFAULT_THUMBNAIL.length +
+            "," +
+            album.getThumbnailHash() +
+            ","
+        );
     }
 
     @SuppressWarnings({ "unchecked" })
@@ -260,6 +507,7 @@ class AlbumResourceIT {
     @Transactional
     void getAlbum() throws Exception {
         // Initialize the database
+        blobStore.put(album.getThumbnail());
         insertedAlbum = albumRepository.saveAndFlush(album);
 
         // Get the album
@@ -276,6 +524,645 @@ class AlbumResourceIT {
             .andExpect(jsonPath("$.thumbnail").value(Base64.getEncoder().encodeToString(DEFAULT_THUMBNAIL)));
     }
 
+    @Test
+    @Transactional
+    void getAlbumThumbnail() throws Exception {
+        // Initialize the database
+        blobStore.put(album.getThumbnail());
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", album.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_THUMBNAIL_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + album.getThumbnailHash() + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+            .andExpect(content().bytes(DEFAULT_THUMBNAIL));
+    }
+
+    @Test
+    @Transactional
+    void getAlbumThumbnailNotModified() throws Exception {
+        // Initialize the database
+        blobStore.put(album.getThumbnail());
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", album.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + album.getThumbnailHash() + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @Transactional
+    void getAlbumThumbnailRange() throws Exception {
+        // Initialize the database
+        album.thumbnail("hello world".getBytes(StandardCharsets.UTF_8));
+        blobStore.put(album.getThumbnail());
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", album.getId()).header(HttpHeaders.RANGE, "bytes=6-"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-10/11"))
+            .andExpect(content().bytes("world".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @Transactional
+    void getAlbumThumbnailRendition() throws Exception {
+        // Initialize the database
+        album.thumbnail(createPng(600, 300)).thumbnailContentType("image/png");
+        blobStore.put(album.getThumbnail());
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        albumRenditionService.generateRenditions(album.getId());
+
+        byte[] rendition = restAlbumMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail?size=200", album.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/jpeg"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        assertThat(ImageIO.read(new ByteArrayInputStream(rendition)).getWidth()).isEqualTo(256);
+
+        // No rendition is large enough: the original is returned
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail?size=1000", album.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"))
+            .andExpect(content().bytes(album.getThumbnail()));
+    }
+
+    @Test
+    void putAlbumWithNewThumbnailDerivesItsRenditions() throws Exception {
+        Long id = createAlbumThroughApi(createEntity().thumbnail(createPng(600, 300)).thumbnailContentType("image/png"));
+        try {
+            AlbumDTO albumDTO = albumMapper.toDto(createEntity().thumbnail(createPng(300, 600)).thumbnailContentType("image/png"));
+            albumDTO.setId(id);
+            restAlbumMockMvc
+                .perform(put(ENTITY_API_URL_ID, id).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(albumDTO)))
+                .andExpect(status().isOk());
+
+            // The renditions of the new thumbnail are derived once the update is committed
+            byte[] rendition = restAlbumMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/thumbnail?size=200", id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+            assertThat(ImageIO.read(new ByteArrayInputStream(rendition)).getHeight()).isEqualTo(256);
+        } finally {
+            restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAlbumThumbnailWithOutdatedRenditions() throws Exception {
+        // Initialize the database
+        album.thumbnail(createPng(600, 300)).thumbnailContentType("image/png");
+        blobStore.put(album.getThumbnail());
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        albumRenditionService.generateRenditions(album.getId());
+
+        // Replace the thumbnail without deriving its renditions
+        album.thumbnail(createPng(300, 600));
+        blobStore.put(album.getThumbnail());
+        albumRepository.saveAndFlush(album);
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail?size=200", album.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"))
+            .andExpect(content().bytes(album.getThumbnail()));
+    }
+
+    @Test
+    @Transactional
+    void getAlbumThumbnailWithInvalidSize() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        restAlbumMockMvc.perform(get(ENTITY_API_URL_ID + "/thumbnail?size=0", album.getId())).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAlbumWithoutThumbnailThumbnail() throws Exception {
+        // Initialize the database
+        album.thumbnail(null).thumbnailContentType(null);
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        restAlbumMockMvc.perform(get(ENTITY_API_URL_ID + "/thumbnail", album.getId())).andExpect(status().isNotFound());
+        restAlbumMockMvc.perform(get(ENTITY_API_URL_ID + "/thumbnail", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getGalleryWithoutThumbnail() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        // The gallery is read from its view, which is refreshed once the changes are committed
+        albumGalleryViewService.rebuild();
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE&size=200"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(album.getId().intValue())))
+            .andExpect(jsonPath("$.[*].thumbnailHash").value(hasItem(album.getThumbnailHash())))
+            .andExpect(jsonPath("$.[*].thumbnail").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getGalleryByEventWithCursor() throws Exception {
+        // Initialize the database
+        Album first = albumRepository.saveAndFlush(createEntity().event("Gallery cursor A").name("Second"));
+        Album second = albumRepository.saveAndFlush(createEntity().event("Gallery cursor A").name("Third"));
+        Album third = albumRepository.saveAndFlush(createEntity().event("Gallery cursor B").name("First"));
+        Album uncategorized = albumRepository.saveAndFlush(createEntity().event(null).name("Uncategorized"));
+        Album beforeFirst = albumRepository.saveAndFlush(createEntity().event("Gallery cursor A").name("First"));
+        // The gallery is read from its view, which is refreshed once the changes are committed
+        albumGalleryViewService.rebuild();
+
+        List<Long> ids = getAllGalleryIds("EVENT", 2);
+
+        List<Long> inserted = List.of(beforeFirst.getId(), first.getId(), second.getId(), third.getId(), uncategorized.getId());
+        assertThat(ids).hasSize((int) getRepositoryCount()).doesNotHaveDuplicates();
+        assertThat(ids.stream().filter(inserted::contains)).containsExactlyElementsOf(inserted);
+    }
+
+    @Test
+    @Transactional
+    void getGalleryByDateWithCursor() throws Exception {
+        // Initialize the database
+        Instant base = Instant.parse("2100-01-01T00:00:00Z");
+        Album oldest = albumRepository.saveAndFlush(createEntity().creationDate(base).overrideDate(null));
+        Album overridden = albumRepository.saveAndFlush(createEntity().creationDate(base).overrideDate(base.plusSeconds(20)));
+        Album newest = albumRepository.saveAndFlush(createEntity().creationDate(base.plusSeconds(30)).overrideDate(null));
+        Album sameDate = albumRepository.saveAndFlush(createEntity().creationDate(base.plusSeconds(10)).overrideDate(null));
+        Album sameDateHigherId = albumRepository.saveAndFlush(createEntity().creationDate(base.plusSeconds(10)).overrideDate(null));
+        // The gallery is read from its view, which is refreshed once the changes are committed
+        albumGalleryViewService.rebuild();
+
+        List<Long> ids = getAllGalleryIds("DATE", 2);
+
+        assertThat(ids).hasSize((int) getRepositoryCount()).doesNotHaveDuplicates();
+        assertThat(ids.subList(0, 5)).containsExactly(
+            newest.getId(),
+            overridden.getId(),
+            sameDateHigherId.getId(),
+            sameDate.getId(),
+            oldest.getId()
+        );
+    }
+
+    @Test
+    @Transactional
+    void getGalleryByDateAfterOverrideDateIsCleared() throws Exception {
+        // Initialize the database
+        Instant base = Instant.parse("2100-01-01T00:00:00Z");
+        Album newest = albumRepository.saveAndFlush(createEntity().creationDate(base.plusSeconds(10)).overrideDate(null));
+        insertedAlbum = albumRepository.saveAndFlush(createEntity().creationDate(base).overrideDate(base.plusSeconds(20)));
+        assertThat(insertedAlbum.getEffectiveDate()).isEqualTo(base.plusSeconds(20));
+
+        AlbumDTO albumDTO = albumMapper.toDto(insertedAlbum);
+        albumDTO.setOverrideDate(null);
+        restAlbumMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, albumDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(albumDTO))
+            )
+            .andExpect(status().isOk());
+
+        em.flush();
+        em.clear();
+        assertThat(albumRepository.findById(insertedAlbum.getId()).orElseThrow().getEffectiveDate()).isEqualTo(base);
+        albumGalleryViewService.rebuild();
+        assertThat(getAllGalleryIds("DATE", 1).subList(0, 2)).containsExactly(newest.getId(), insertedAlbum.getId());
+    }
+
+    @Test
+    @Transactional
+    void getGalleryGroups() throws Exception {
+        // Initialize the database
+        Album second = albumRepository.saveAndFlush(createEntity().event("Gallery group A").name("Second"));
+        Album third = albumRepository.saveAndFlush(createEntity().event("Gallery group A").name("Third"));
+        Album first = albumRepository.saveAndFlush(createEntity().event("Gallery group A").name("First"));
+        Album other = albumRepository.saveAndFlush(createEntity().event("Gallery group B").name("Other"));
+        Album uncategorized = albumRepository.saveAndFlush(createEntity().event(null).name("Uncategorized"));
+        // The gallery is read from its view, which is refreshed once the changes are committed
+        albumGalleryViewService.rebuild();
+
+        List<JsonNode> groups = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var response = restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/gallery/groups?size=2&albumsPerGroup=2" + (cursor != null ? "&cursor=" + cursor : "")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+            JsonNode slice = om.readTree(response.getContentAsString());
+            assertThat(slice.size()).isLessThanOrEqualTo(2);
+            for (JsonNode group : slice) {
+                groups.add(group);
+                group.get("albums").forEach(album -> ids.add(album.get("id").asLong()));
+                ids.addAll(getAllGalleryGroupAlbumIds(group.get("nextCursor").asText(null)));
+            }
+            cursor = response.getHeader("X-Next-Cursor");
+        } while (cursor != null);
+
+        assertThat(ids).hasSize((int) getRepositoryCount()).doesNotHaveDuplicates();
+        assertThat(groups.get(groups.size() - 1).get("uncategorized").asBoolean()).isTrue();
+        assertThat(groups.get(groups.size() - 1).get("event").isNull()).isTrue();
+        assertThat(groups.subList(0, groups.size() - 1)).allSatisfy(group -> assertThat(group.get("uncategorized").asBoolean()).isFalse());
+
+        JsonNode groupA = groups.stream().filter(group -> "Gallery group A".equals(group.get("event").asText())).findFirst().orElseThrow();
+        assertThat(groupA.get("albumCount").asLong()).isEqualTo(3);
+        assertThat(groupA.get("albums").findValuesAsText("id")).containsExactly(first.getId().toString(), second.getId().toString());
+        assertThat(getAllGalleryGroupAlbumIds(groupA.get("nextCursor").asText())).containsExactly(third.getId());
+
+        JsonNode groupB = groups.stream().filter(group -> "Gallery group B".equals(group.get("event").asText())).findFirst().orElseThrow();
+        assertThat(groupB.get("albumCount").asLong()).isEqualTo(1);
+        assertThat(groupB.get("albums").findValuesAsText("id")).containsExactly(other.getId().toString());
+        assertThat(groupB.get("nextCursor").isNull()).isTrue();
+        assertThat(ids).contains(uncategorized.getId());
+    }
+
+    @Test
+    @Transactional
+    void getGalleryGroupsWithInvalidCursor() throws Exception {
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "/gallery/groups?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "/gallery/groups/albums?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getGalleryWithInvalidCursor() throws Exception {
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "/gallery?sortBy=EVENT&cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getGalleryWithCursorOfAnotherSort() throws Exception {
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        albumRepository.saveAndFlush(createEntity());
+        // The gallery is read from its view, which is refreshed once the changes are committed
+        albumGalleryViewService.rebuild();
+
+        String cursor = restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "/gallery?sortBy=EVENT&cursor=" + cursor))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getGalleryViewWithCurrentLoginOfOwner() throws Exception {
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        album.setUser(user);
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        albumGalleryViewService.rebuild();
+
+        // The login changes without a change to the album, so its gallery view row is not refreshed
+        user.setLogin("renamed-owner");
+        userRepository.saveAndFlush(user);
+
+        assertThat(albumGalleryViewRepository.findById(insertedAlbum.getId())).hasValueSatisfying(summary ->
+            assertThat(summary.userLogin()).isEqualTo("renamed-owner")
+        );
+    }
+
+    @Test
+    void getGalleryRevalidatedOnceTheViewIsRefreshed() throws Exception {
+        // Initialize the database: the creation is committed, but not refreshed in the gallery view yet
+        Album dated = albumRepository.saveAndFlush(createEntity().creationDate(Instant.parse("2999-01-01T00:00:00Z")).overrideDate(null));
+        try {
+            String eTag = restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(dated.getId().intValue()))))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+            albumGalleryViewService.refresh(dated.getId());
+
+            // The copy read before the refresh is stale
+            restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE&size=20").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(dated.getId().intValue())));
+        } finally {
+            albumRepository.deleteById(dated.getId());
+            albumGalleryViewService.refresh(dated.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void getGalleryNotModified() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        // The gallery is read from its view, which is refreshed once the changes are committed
+        albumGalleryViewService.rebuild();
+
+        var response = restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse();
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().bytes(new byte[0]));
+
+        // The version is shared by the instances: a change logged by any of them is a new version
+        albumChangeRepository.append(Map.of(album.getId(), false), Instant.now());
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(album.getId().intValue())));
+    }
+
+    @Test
+    void getGalleryTimeline() throws Exception {
+        String event = "Timeline of AlbumResourceIT";
+        String timelineUrl = ENTITY_API_URL + "/gallery/timeline";
+        String eventCount = "$.events[?(@.event == '" + event + "')].count";
+        String eTag = restAlbumMockMvc
+            .perform(get(timelineUrl))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restAlbumMockMvc.perform(get(timelineUrl).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        // Create the album through the API, so the timeline is updated once the creation is committed
+        album.setEvent(event);
+        album.setCreationDate(Instant.parse("1999-12-31T23:00:00Z"));
+        album.setOverrideDate(null);
+        byte[] newAlbum = om.writeValueAsBytes(albumMapper.toDto(album));
+        AlbumDTO albumDTO = om.readValue(
+            restAlbumMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(newAlbum))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            AlbumDTO.class
+        );
+        try {
+            restAlbumMockMvc
+                .perform(get(timelineUrl).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(getRepositoryCount()))
+                .andExpect(jsonPath("$.months[0].year").value(1999))
+                .andExpect(jsonPath("$.months[0].month").value(12))
+                .andExpect(jsonPath(eventCount).value(contains(1)));
+        } finally {
+            restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, albumDTO.getId())).andExpect(status().isNoContent());
+        }
+
+        restAlbumMockMvc.perform(get(timelineUrl)).andExpect(status().isOk()).andExpect(jsonPath(eventCount).isEmpty());
+    }
+
+    @Test
+    void getAlbumChanges() throws Exception {
+        String changesUrl = ENTITY_API_URL + "/changes";
+        long token = readTree(
+            restAlbumMockMvc.perform(get(changesUrl)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString()
+        )
+            .get("token")
+            .asLong();
+
+        // Change the albums through the API, so the changes are logged as they are committed
+        Long updatedId = createAlbumThroughApi(album);
+        Long deletedId = createAlbumThroughApi(createEntity());
+        try {
+            restAlbumMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, updatedId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"id\": " + updatedId + ", \"name\": \"" + UPDATED_NAME + "\"}")
+                )
+                .andExpect(status().isOk());
+            restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, deletedId)).andExpect(status().isNoContent());
+
+            String updated = "$.changes[?(@.albumId == " + updatedId + ")]";
+            String deleted = "$.changes[?(@.albumId == " + deletedId + ")]";
+            String changes = restAlbumMockMvc
+                .perform(get(changesUrl + "?since=" + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(updated + ".deleted").value(contains(false)))
+                .andExpect(jsonPath(updated + ".album.name").value(contains(UPDATED_NAME)))
+                .andExpect(jsonPath(deleted + ".deleted").value(contains(true)))
+                .andExpect(jsonPath(deleted + ".album").value(contains((Object) null)))
+                .andExpect(jsonPath("$.more").value(false))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+            long nextToken = readTree(changes).get("token").asLong();
+            assertThat(nextToken).isGreaterThan(token);
+            restAlbumMockMvc
+                .perform(get(changesUrl + "?since=" + nextToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(updated).isEmpty())
+                .andExpect(jsonPath(deleted).isEmpty());
+        } finally {
+            restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, updatedId)).andExpect(status().isNoContent());
+        }
+
+        restAlbumMockMvc.perform(get(changesUrl + "?since=-1")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getGalleryRefreshedAfterCommit() throws Exception {
+        Album dated = createEntity().creationDate(Instant.parse("2999-01-01T00:00:00Z")).overrideDate(null);
+        Long id = createAlbumThroughApi(dated);
+        try {
+            // The view is refreshed on the async executor, once the creation is committed
+            assertThat(awaitGalleryIdsByDate(ids -> ids.contains(id))).contains(id);
+        } finally {
+            restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+        }
+        assertThat(awaitGalleryIdsByDate(ids -> !ids.contains(id))).doesNotContain(id);
+    }
+
+    @Test
+    void getGalleryFromSliceCache() throws Exception {
+        Counter hits = meterRegistry
+            .get(GallerySliceCache.GETS_METER_NAME)
+            .tag(GallerySliceCache.GETS_METER_RESULT_DIMENSION, "hit")
+            .counter();
+        Album dated = createEntity().creationDate(Instant.parse("2998-01-01T00:00:00Z")).overrideDate(null);
+        Long id = createAlbumThroughApi(dated);
+        try {
+            assertThat(awaitGalleryIdsByDate(ids -> ids.contains(id))).contains(id);
+            double served = hits.count();
+            assertThat(awaitGalleryIdsByDate(ids -> ids.contains(id))).contains(id);
+            assertThat(hits.count()).isEqualTo(served + 1);
+
+            // Renaming the album keeps its position, so the slices holding it are still served, with the new name
+            AlbumDTO albumDTO = albumMapper.toDto(dated.name(UPDATED_NAME));
+            albumDTO.setId(id);
+            restAlbumMockMvc
+                .perform(put(ENTITY_API_URL_ID, id).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(albumDTO)))
+                .andExpect(status().isOk());
+            awaitGalleryViewRefreshed();
+            restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[?(@.id == " + id + ")].name").value(hasItem(UPDATED_NAME)));
+            assertThat(hits.count()).isEqualTo(served + 2);
+
+            // A new album moves into the slices of its ordering, which are all invalidated
+            Long newer = createAlbumThroughApi(createEntity().creationDate(Instant.parse("2999-01-01T00:00:00Z")).overrideDate(null));
+            try {
+                awaitGalleryViewRefreshed();
+                assertThat(awaitGalleryIdsByDate(ids -> ids.contains(newer))).startsWith(newer, id);
+                assertThat(hits.count()).isEqualTo(served + 2);
+            } finally {
+                restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, newer)).andExpect(status().isNoContent());
+            }
+        } finally {
+            restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+        }
+        assertThat(awaitGalleryIdsByDate(ids -> !ids.contains(id))).doesNotContain(id);
+    }
+
+    private void awaitGalleryViewRefreshed() throws InterruptedException {
+        Gauge pending = meterRegistry.get(AlbumGalleryViewService.PENDING_METER_NAME).gauge();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pending.value() > 0 && System.currentTimeMillis() <= deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(pending.value()).isZero();
+    }
+
+    private List<Long> awaitGalleryIdsByDate(Predicate<List<Long>> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<Long> ids;
+        while (true) {
+            String gallery = restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/gallery?sortBy=DATE&size=20"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            ids = Arrays.stream(om.readValue(gallery, AlbumSummaryDTO[].class)).map(AlbumSummaryDTO::getId).toList();
+            if (condition.test(ids) || System.currentTimeMillis() > deadline) {
+                return ids;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private Long createAlbumThroughApi(Album album) throws Exception {
+        String created = restAlbumMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(albumMapper.toDto(album))))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return om.readValue(created, AlbumDTO.class).getId();
+    }
+
+    @Test
+    @WithMockUser("user")
+    void getCurrentUserAlbums() throws Exception {
+        User user = userRepository.findOneByLogin("user").orElseThrow();
+        Cache ownedAlbums = cacheManager.getCache(AlbumRepository.ALBUMS_BY_OWNER_CACHE);
+        Instant future = Instant.parse("2999-01-01T00:00:00Z");
+
+        // Create the albums through the API, so the cache is evicted once the creation is committed
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                AlbumDTO albumDTO = albumMapper.toDto(createEntity().creationDate(future.plusSeconds(i)).overrideDate(null));
+                albumDTO.setUser(new UserDTO(user));
+                String created = restAlbumMockMvc
+                    .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(albumDTO)))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+                ids.add(om.readValue(created, AlbumDTO.class).getId());
+            }
+            assertThat(ownedAlbums.get(user.getId())).isNull();
+
+            String nextCursor = restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/mine?size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(ids.get(2).intValue(), ids.get(1).intValue())))
+                .andReturn()
+                .getResponse()
+                .getHeader("X-Next-Cursor");
+            assertThat(ownedAlbums.get(user.getId())).isNotNull();
+            restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/mine?size=2&cursor=" + nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(ids.get(0).intValue()));
+
+            // A change of an album of the user evicts the albums of the user
+            restAlbumMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, ids.get(1))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"id\": " + ids.get(1) + ", \"name\": \"" + UPDATED_NAME + "\"}")
+                )
+                .andExpect(status().isOk());
+            assertThat(ownedAlbums.get(user.getId())).isNull();
+            restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/mine?size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[1].name").value(UPDATED_NAME));
+        } finally {
+            for (Long id : ids) {
+                restAlbumMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+            }
+        }
+        assertThat(ownedAlbums.get(user.getId())).isNull();
+    }
+
+    @Test
+    void getCurrentUserAlbumsWithInvalidSize() throws Exception {
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "/mine?size=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllAlbumsNotModified() throws Exception {
+        String eTag = restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     @Transactional
     void getNonExistingAlbum() throws Exception {
@@ -315,6 +1202,87 @@ class AlbumResourceIT {
         assertPersistedAlbumToMatchAllProperties(updatedAlbum);
     }
 
+    @Test
+    @Transactional
+    void putAlbumWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        String eTag = restAlbumMockMvc
+            .perform(get(ENTITY_API_URL_ID, album.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        AlbumDTO albumDTO = albumMapper.toDto(album);
+        albumDTO.setName(UPDATED_NAME);
+        restAlbumMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, albumDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(albumDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1));
+
+        // The update was made from the previous version, so it is rejected instead of overwriting the first one
+        albumDTO.setName(DEFAULT_NAME);
+        restAlbumMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, albumDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(albumDTO))
+            )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.message").value("error.concurrencyFailure"));
+        restAlbumMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, albumDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "W/" + eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(albumDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(albumRepository.findById(album.getId()).orElseThrow().getName()).isEqualTo(UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void patchAlbumWithOutdatedVersion() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        AlbumDTO partialUpdatedAlbum = new AlbumDTO();
+        partialUpdatedAlbum.setId(album.getId());
+        partialUpdatedAlbum.setName(UPDATED_NAME);
+        partialUpdatedAlbum.setVersion(0L);
+        restAlbumMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, album.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedAlbum))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(1));
+
+        // The version of the body is checked when there is no If-Match header
+        partialUpdatedAlbum.setName(DEFAULT_NAME);
+        restAlbumMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, album.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedAlbum))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(albumRepository.findById(album.getId()).orElseThrow().getName()).isEqualTo(UPDATED_NAME);
+    }
+
     @Test
     @Transactional
     void putNonExistingAlbum() throws Exception {
@@ -396,7 +1364,7 @@ class AlbumResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedAlbum.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedAlbum))
+                    .content(om.writeValueAsBytes(albumMapper.toDto(partialUpdatedAlbum)))
             )
             .andExpect(status().isOk());
 
@@ -430,7 +1398,7 @@ class AlbumResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedAlbum.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedAlbum))
+                    .content(om.writeValueAsBytes(albumMapper.toDto(partialUpdatedAlbum)))
             )
             .andExpect(status().isOk());
 
@@ -493,10 +1461,10 @@ class AlbumResourceIT {
         // Create the Album
         AlbumDTO albumDTO = albumMapper.toDto(album);
 
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
+        // PATCH /albums updates a batch of albums, so a single album is not a valid body
         restAlbumMockMvc
             .perform(patch(ENTITY_API_URL).contentType("application/merge-patch+json").content(om.writeValueAsBytes(albumDTO)))
-            .andExpect(status().isMethodNotAllowed());
+            .andExpect(status().isBadRequest());
 
         // Validate the Album in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -519,6 +1487,136 @@ class AlbumResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void getAlbumsByIds() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        Album other = albumRepository.saveAndFlush(createUpdatedEntity());
+        long missingId = longCount.incrementAndGet();
+
+        restAlbumMockMvc
+            .perform(get(ENTITY_API_URL + "?ids={ids}", other.getId() + "," + missingId + "," + album.getId() + "," + other.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(other.getId().intValue(), (int) missingId, album.getId().intValue())))
+            .andExpect(jsonPath("$.[*].status").value(contains(200, 404, 200)))
+            .andExpect(jsonPath("$.[0].album.name").value(UPDATED_NAME))
+            .andExpect(jsonPath("$.[2].album.name").value(DEFAULT_NAME));
+
+        restAlbumMockMvc.perform(get(ENTITY_API_URL + "?ids=")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void partialUpdateAlbums() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        Album other = albumRepository.saveAndFlush(createEntity());
+
+        AlbumDTO update = new AlbumDTO();
+        update.setId(album.getId());
+        update.setEvent(UPDATED_EVENT);
+        update.setVersion(0L);
+        AlbumDTO outdated = new AlbumDTO();
+        outdated.setId(other.getId());
+        outdated.setEvent(UPDATED_EVENT);
+        outdated.setVersion(1L);
+        AlbumDTO missing = new AlbumDTO();
+        missing.setId(longCount.incrementAndGet());
+        missing.setEvent(UPDATED_EVENT);
+
+        restAlbumMockMvc
+            .perform(
+                patch(ENTITY_API_URL)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(List.of(update, outdated, missing, new AlbumDTO())))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains(200, 412, 404, 400)))
+            .andExpect(jsonPath("$.[0].album.event").value(UPDATED_EVENT))
+            .andExpect(jsonPath("$.[0].album.version").value(1));
+
+        assertThat(albumRepository.findById(album.getId()).orElseThrow().getEvent()).isEqualTo(UPDATED_EVENT);
+        assertThat(albumRepository.findById(other.getId()).orElseThrow().getEvent()).isEqualTo(DEFAULT_EVENT);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void deleteAlbums() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+        Album other = albumRepository.saveAndFlush(createEntity());
+        long missingId = longCount.incrementAndGet();
+
+        long databaseSizeBeforeDelete = getRepositoryCount();
+
+        restAlbumMockMvc
+            .perform(delete(ENTITY_API_URL + "?ids={ids}", album.getId() + "," + missingId + "," + other.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(album.getId().intValue(), (int) missingId, other.getId().intValue())))
+            .andExpect(jsonPath("$.[*].status").value(contains(204, 404, 204)));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeDelete - 2);
+    }
+
+    @Test
+    @Transactional
+    void deleteAlbumsRequiresAdmin() throws Exception {
+        // Initialize the database
+        insertedAlbum = albumRepository.saveAndFlush(album);
+
+        restAlbumMockMvc.perform(delete(ENTITY_API_URL + "?ids={ids}", album.getId())).andExpect(status().isForbidden());
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return om.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Album> findImportedAlbums() {
+        return albumRepository.findAll().stream().filter(a -> IMPORT_EVENT.equals(a.getEvent())).toList();
+    }
+
+    private List<Long> getAllGalleryIds(String sortBy, int size) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var response = restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/gallery?sortBy=" + sortBy + "&size=" + size + (cursor != null ? "&cursor=" + cursor : "")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+            AlbumSummaryDTO[] slice = om.readValue(response.getContentAsString(), AlbumSummaryDTO[].class);
+            assertThat(slice.length).isLessThanOrEqualTo(size);
+            for (AlbumSummaryDTO albumSummaryDTO : slice) {
+                ids.add(albumSummaryDTO.getId());
+            }
+            cursor = response.getHeader("X-Next-Cursor");
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> getAllGalleryGroupAlbumIds(String cursor) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        while (cursor != null) {
+            var response = restAlbumMockMvc
+                .perform(get(ENTITY_API_URL + "/gallery/groups/albums?size=1&cursor=" + cursor))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+            for (AlbumSummaryDTO albumSummaryDTO : om.readValue(response.getContentAsString(), AlbumSummaryDTO[].class)) {
+                ids.add(albumSummaryDTO.getId());
+            }
+            cursor = response.getHeader("X-Next-Cursor");
+        }
+        return ids;
+    }
+
     protected long getRepositoryCount() {
         return albumRepository.count();
     }
@@ -546,4 +1644,10 @@ class AlbumResourceIT {
     protected void assertPersistedAlbumToMatchUpdatableProperties(Album expectedAlbum) {
         assertAlbumAllUpdatablePropertiesEquals(expectedAlbum, getPersistedAlbum(expectedAlbum));
     }
+
+    private static byte[] createPng(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", bytes);
+        return bytes.toByteArray();
+    }
 }
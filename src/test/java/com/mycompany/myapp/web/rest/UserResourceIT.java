@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.NearCache;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
@@ -273,6 +274,8 @@ class UserResourceIT {
         // Initialize the database
         userRepository.saveAndFlush(user);
 
+        // The test configuration enables the near cache in front of the users by login
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).isInstanceOf(NearCache.class);
         assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin(), User.class)).isNull();
 
         // Get the user
@@ -0,0 +1,112 @@
+package gatling.simulations;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.atOnceUsers;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.group;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.core.CoreDsl.repeat;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.header;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput benchmark of the bulk import of albums, against the creation of the same albums one by one.
+ * <p>
+ * The same number of albums is created by each scenario, one after the other: compare the duration of the
+ * "Single inserts" group with the one of the "Bulk import" request in the report. Run with {@code -Dalbums=10000}
+ * to change the number of albums.
+ *
+ * @see <a href="https://github.com/jhipster/generator-jhipster/tree/v8.10.0/generators/gatling#logging-tips">Logging tips</a>
+ */
+public class AlbumImportGatlingTest extends Simulation {
+
+    String baseURL = Optional.ofNullable(System.getProperty("baseURL")).orElse("http://localhost:8080");
+
+    int albums = Integer.getInteger("albums", 5000);
+
+    HttpProtocolBuilder httpConf = http
+        .baseUrl(baseURL)
+        .acceptHeader("*/*")
+        .acceptEncodingHeader("gzip, deflate")
+        .connectionHeader("keep-alive")
+        .userAgentHeader("Mozilla/5.0 (Macintosh; Intel Mac OS X 10.10; rv:33.0) Gecko/20100101 Firefox/33.0");
+
+    Map<String, String> headersHttpAuthentication = Map.of("Content-Type", "application/json", "Accept", "application/json");
+
+    Map<String, String> headersHttpAuthenticated = Map.of("Accept", "application/json", "Authorization", "${access_token}");
+
+    Map<String, String> headersHttpImport = Map.of(
+        "Content-Type",
+        "application/x-ndjson",
+        "Accept",
+        "application/json",
+        "Authorization",
+        "${access_token}"
+    );
+
+    ChainBuilder authenticate = exec(
+        http("Authentication")
+            .post("/api/authenticate")
+            .headers(headersHttpAuthentication)
+            .body(StringBody("{\"username\":\"admin\", \"password\":\"admin\"}"))
+            .asJson()
+            .check(header("Authorization").saveAs("access_token"))
+    ).exitHereIfFailed();
+
+    ChainBuilder singleInserts = group("Single inserts").on(
+        repeat(albums, "index").on(
+            exec(
+                http("Create new album")
+                    .post("/api/albums")
+                    .headers(headersHttpAuthenticated)
+                    .body(StringBody(session -> album("Single", session.getInt("index"))))
+                    .asJson()
+                    .check(status().is(201))
+            )
+        )
+    );
+
+    ChainBuilder bulkImport = exec(
+        http("Bulk import")
+            .post("/api/albums/_import")
+            .headers(headersHttpImport)
+            .body(StringBody(IntStream.range(0, albums).mapToObj(index -> album("Bulk", index)).collect(Collectors.joining("\n"))))
+            .check(status().is(200))
+            .check(jsonPath("$.imported").ofInt().is(albums))
+    );
+
+    ScenarioBuilder single = scenario("Create albums one by one").exec(authenticate).exec(singleInserts);
+
+    ScenarioBuilder bulk = scenario("Import albums in bulk").exec(authenticate).exec(bulkImport);
+
+    {
+        setUp(single.injectOpen(atOnceUsers(1)).andThen(bulk.injectOpen(atOnceUsers(1)))).protocols(httpConf);
+    }
+
+    private static String album(String kind, int index) {
+        return (
+            "{" +
+            "\"name\": \"" +
+            kind +
+            " benchmark album " +
+            index +
+            "\"" +
+            ", \"event\": \"" +
+            kind +
+            " benchmark\"" +
+            ", \"creationDate\": \"2020-01-01T00:00:00.000Z\"" +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,111 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.domain.User;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.jcache.JCacheCache;
+
+/**
+ * Compares the lookups of the users by login through the JCache cache alone, as configured by
+ * {@link CacheConfiguration}, and through a {@link NearCache} in front of it.
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark test-compile} then the main method of this class on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class NearCacheBenchmark {
+
+    /**
+     * The number of users looked up: all of them fit in the near tier, or only the hottest ones.
+     */
+    @Param({ "100", "10000" })
+    private int users;
+
+    private CacheManager cacheManager;
+
+    private Cache jcache;
+
+    private Cache nearCache;
+
+    private String[] logins;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        javax.cache.Cache<Object, Object> cache = cacheManager.createCache(
+            "usersByLogin",
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(users))
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(3600)))
+                    .build()
+            )
+        );
+        jcache = new JCacheCache(cache);
+        nearCache = new NearCache(jcache, 1000, Duration.ofSeconds(60));
+        logins = new String[users];
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setLogin("user-" + i);
+            logins[i] = user.getLogin();
+            jcache.put(user.getLogin(), user);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cacheManager.destroyCache("usersByLogin");
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public Object jcache() {
+        return jcache.get(nextLogin(), User.class);
+    }
+
+    @Benchmark
+    public Object nearCache() {
+        return nearCache.get(nextLogin(), User.class);
+    }
+
+    private String nextLogin() {
+        // Skewed towards the first users, like the logins of the users currently active
+        double uniform = ThreadLocalRandom.current().nextDouble();
+        return logins[(int) (uniform * uniform * uniform * logins.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NearCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}